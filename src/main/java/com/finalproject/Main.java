@@ -1,16 +1,26 @@
 package com.finalproject;
 
 import com.finalproject.config.DatabaseConfig;
+import com.finalproject.model.KanbanBoard;
+import com.finalproject.model.Priority;
+import com.finalproject.model.SearchResult;
+import com.finalproject.model.Status;
 import com.finalproject.model.Task;
+import com.finalproject.model.TaskChanges;
 import com.finalproject.service.ImportExportService;
 import com.finalproject.service.ReportService;
 import com.finalproject.service.TaskService;
+import com.finalproject.util.BoardSnapshotFile;
 import com.finalproject.util.DatabaseSetup;
 
+import java.nio.file.Paths;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Scanner;
 
 /**
@@ -23,6 +33,16 @@ public class Main {
     private static ReportService reportService;
     private static ImportExportService importExportService;
     private static DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    // Local board snapshot rendered before each prompt, refreshed by updated_at
+    private static KanbanBoard board;
+    private static LocalDateTime boardWatermark; // newest updated_at in the snapshot
+
+    // Same order the board query used: newest first
+    private static final Comparator<Task> BOARD_ORDER = Comparator
+            .comparing(Task::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Task::getId, Comparator.nullsLast(Comparator.reverseOrder()));
 
     public static void main(String[] args) {
         // Initialize scanner with explicit charset to avoid IDE issues
@@ -65,6 +85,10 @@ public class Main {
                 System.out.println("Please run the SQL script manually: src/main/resources/database_schema.sql");
                 return;
             }
+        } else if (!DatabaseSetup.upgradeSchema()) {
+            System.out.println("ERROR: Failed to upgrade database tables!");
+            System.out.println("Please run the SQL script manually: src/main/resources/database_schema.sql");
+            return;
         }
 
         // Initialize services
@@ -72,9 +96,14 @@ public class Main {
         reportService = new ReportService(taskService);
         importExportService = new ImportExportService(taskService);
         
-        int taskCount = taskService.getAllTasks().size();
+        // Start from the local snapshot when there is one; the first render catches up with the database
+        boolean fromSnapshot = loadBoardSnapshot();
+        if (!fromSnapshot) {
+            reloadBoard();
+        }
+        int taskCount = board.size();
         if (taskCount > 0) {
-            System.out.println("✓ Loaded " + taskCount + " tasks from database.\n");
+            System.out.println("✓ Loaded " + taskCount + " tasks from " + (fromSnapshot ? "local snapshot" : "database") + ".\n");
         } else {
             System.out.println("✓ Starting with empty board.\n");
         }
@@ -133,11 +162,15 @@ public class Main {
                     importFromJson();
                     break;
                 case 16:
+                    reloadBoard();
+                    System.out.println("✓ Board reloaded (" + board.size() + " tasks).");
+                    break;
+                case 17:
                     exit();
                     running = false;
                     break;
                 default:
-                    System.out.println("⚠ Invalid choice! Please enter a number between 1 and 16.");
+                    System.out.println("⚠ Invalid choice! Please enter a number between 1 and 17.");
             }
 
             if (running) {
@@ -157,17 +190,14 @@ public class Main {
         System.out.println("KANBAN BOARD");
         System.out.println("═".repeat(100));
 
-        // Get tasks from database and organize by status
-        List<Task> allTasks = taskService.getAllTasks();
-        List<Task> todoTasks = allTasks.stream()
-                .filter(t -> t.getStatus().equals(Task.STATUS_TODO))
-                .collect(java.util.stream.Collectors.toList());
-        List<Task> inProgressTasks = allTasks.stream()
-                .filter(t -> t.getStatus().equals(Task.STATUS_IN_PROGRESS))
-                .collect(java.util.stream.Collectors.toList());
-        List<Task> doneTasks = allTasks.stream()
-                .filter(t -> t.getStatus().equals(Task.STATUS_DONE))
-                .collect(java.util.stream.Collectors.toList());
+        // Bring the local snapshot up to date and take the columns from it
+        refreshBoard();
+        List<Task> todoTasks = board.getTodoTasks();
+        List<Task> inProgressTasks = board.getInProgressTasks();
+        List<Task> doneTasks = board.getDoneTasks();
+        todoTasks.sort(BOARD_ORDER);
+        inProgressTasks.sort(BOARD_ORDER);
+        doneTasks.sort(BOARD_ORDER);
 
         // Calculate max height for columns
         int maxHeight = Math.max(Math.max(todoTasks.size(), inProgressTasks.size()), doneTasks.size());
@@ -194,6 +224,79 @@ public class Main {
         System.out.println("═".repeat(100));
     }
 
+    /**
+     * Replace the local board snapshot with a full read of the tasks table
+     */
+    private static void reloadBoard() {
+        TaskChanges all = taskService.getChangesSince(null);
+        board = new KanbanBoard(all.getUpdated());
+        boardWatermark = all.getWatermark();
+        saveBoardSnapshot();
+    }
+
+    /**
+     * Apply tasks created, updated or deleted since the last render to the snapshot.
+     * Rows written behind the watermark are not seen (see TaskDAO), so code that
+     * does that - e.g. importing rows with older timestamps - calls reloadBoard().
+     */
+    private static void refreshBoard() {
+        if (board == null || boardWatermark == null) {
+            reloadBoard();
+            return;
+        }
+        TaskChanges changes = taskService.getChangesSince(boardWatermark);
+        if (changes == null) {
+            return; // keep showing the last snapshot
+        }
+        // The change query is inclusive of the watermark, so the newest rows come back
+        // every time; only rows that differ from the board count as changes
+        boolean changed = !Objects.equals(changes.getWatermark(), boardWatermark);
+        for (Task task : changes.getUpdated()) {
+            Task current = board.getTaskById(task.getId());
+            if (current == null || !Objects.equals(current.getUpdatedAt(), task.getUpdatedAt())) {
+                board.addTask(task);
+                changed = true;
+            }
+        }
+        for (String taskId : changes.getDeletedIds()) {
+            changed |= board.removeTask(taskId);
+        }
+        boardWatermark = changes.getWatermark();
+
+        if (changed) {
+            saveBoardSnapshot();
+        }
+    }
+
+    /**
+     * Replace the board with the local snapshot file (memory-mapped, no database reads)
+     * @return false if snapshots are disabled or there is no usable snapshot
+     */
+    private static boolean loadBoardSnapshot() {
+        String file = DatabaseConfig.getBoardSnapshotFile();
+        if (file == null) {
+            return false;
+        }
+        BoardSnapshotFile.Snapshot snapshot = BoardSnapshotFile.read(Paths.get(file), DatabaseConfig.getUrl());
+        if (snapshot == null || snapshot.getWatermark() == null) {
+            return false;
+        }
+        board = new KanbanBoard(snapshot.getTasks());
+        boardWatermark = snapshot.getWatermark();
+        return true;
+    }
+
+    /**
+     * Write the board to the local snapshot file for the next start
+     */
+    private static void saveBoardSnapshot() {
+        String file = DatabaseConfig.getBoardSnapshotFile();
+        if (file == null || boardWatermark == null) {
+            return;
+        }
+        BoardSnapshotFile.write(Paths.get(file), DatabaseConfig.getUrl(), board.getAllTasks(), boardWatermark);
+    }
+
     /**
      * Format task for board display
      */
@@ -237,7 +340,8 @@ public class Main {
         System.out.println("13.  View Task Details");
         System.out.println("14.  Export to JSON File");
         System.out.println("15.  Import from JSON File");
-        System.out.println("16.  Exit");
+        System.out.println("16.  Reload Board from Database");
+        System.out.println("17.  Exit");
         System.out.println("═══════════════════════════════════════════════════════════");
     }
 
@@ -248,10 +352,10 @@ public class Main {
         System.out.println("\n--- Add New Task ---");
         String title = getStringInput("Task Title: ");
         String description = getStringInput("Description (optional): ");
-        String priority = getPriorityInput("Priority (low/medium/high) [medium]: ");
+        Priority priority = getPriorityInput("Priority (low/medium/high) [medium]: ");
         
-        if (priority.isEmpty()) {
-            priority = Task.PRIORITY_MEDIUM;
+        if (priority == null) {
+            priority = Priority.MEDIUM;
         }
 
         if (taskService.addTask(title, description, priority)) {
@@ -275,12 +379,12 @@ public class Main {
 
         String title = getStringInput("New Title (Enter to keep current): ");
         String description = getStringInput("New Description (Enter to keep current): ");
-        String priority = getStringInput("New Priority (low/medium/high, Enter to keep current): ");
+        Priority priority = getPriorityInput("New Priority (low/medium/high, Enter to keep current): ");
 
         if (taskService.updateTask(taskId, 
                 title.isEmpty() ? null : title,
                 description.isEmpty() ? null : description,
-                priority.isEmpty() ? null : priority)) {
+                priority)) {
             System.out.println("✓ Task updated successfully!");
         } else {
             System.out.println("✗ Failed to update task.");
@@ -303,12 +407,12 @@ public class Main {
         System.out.println("3. Done");
 
         int choice = getIntInput("Select new status (1-3): ");
-        String newStatus = null;
+        Status newStatus = null;
 
         switch (choice) {
-            case 1: newStatus = Task.STATUS_TODO; break;
-            case 2: newStatus = Task.STATUS_IN_PROGRESS; break;
-            case 3: newStatus = Task.STATUS_DONE; break;
+            case 1: newStatus = Status.TODO; break;
+            case 2: newStatus = Status.IN_PROGRESS; break;
+            case 3: newStatus = Status.DONE; break;
             default:
                 System.out.println("Invalid choice!");
                 return;
@@ -336,6 +440,7 @@ public class Main {
         String confirm = getStringInput("Are you sure? (yes/no): ");
         if ("yes".equalsIgnoreCase(confirm)) {
             if (taskService.deleteTask(taskId)) {
+                board.removeTask(taskId);
                 System.out.println("✓ Task deleted successfully!");
             } else {
                 System.out.println("✗ Failed to delete task.");
@@ -431,12 +536,20 @@ public class Main {
         System.out.println("\n--- Search Tasks ---");
         String searchTerm = getStringInput("Search term: ");
 
-        List<Task> results = taskService.searchTasks(searchTerm);
+        List<SearchResult> results = taskService.searchTasksRanked(searchTerm, TaskService.DEFAULT_SEARCH_LIMIT);
         if (results.isEmpty()) {
             System.out.println("No tasks found.");
         } else {
-            System.out.println("\nSearch Results (" + results.size() + "):");
-            displayTaskList(results);
+            System.out.println("\nSearch Results (" + results.size() + ", best match first):");
+            List<Task> tasks = new java.util.ArrayList<>();
+            for (SearchResult result : results) {
+                tasks.add(result.getTask());
+            }
+            displayTaskList(tasks);
+            for (SearchResult result : results) {
+                System.out.println("  " + result.getTask().getId() + " matched in: "
+                    + String.join(", ", result.getMatchedFields()));
+            }
         }
     }
 
@@ -454,7 +567,7 @@ public class Main {
 
         switch (choice) {
             case 1:
-                String priority = getPriorityInput("Priority (low/medium/high): ");
+                Priority priority = getPriorityInput("Priority (low/medium/high): ");
                 results = taskService.filterByPriority(priority);
                 break;
             case 2:
@@ -538,7 +651,7 @@ public class Main {
         System.out.println("Assigned To: " + (task.getAssignedTo() != null ? task.getAssignedTo() : "Unassigned"));
         System.out.println("Tags: " + (task.getTags().isEmpty() ? "None" : String.join(", ", task.getTags())));
         if (task.isTimerRunning()) {
-            System.out.println("Timer: ⏱ RUNNING (started at " + task.getStartTime() + ")");
+            System.out.println("Timer: ⏱ RUNNING (started at " + task.getStartTime().format(timeFormatter) + ")");
         }
         System.out.println("─".repeat(60));
     }
@@ -647,6 +760,8 @@ public class Main {
                 // Success message already shown in service
             }
         }
+        // Imported rows keep their own updated_at, which may be behind the watermark
+        reloadBoard();
     }
 
     /**
@@ -655,6 +770,7 @@ public class Main {
     private static void exit() {
         System.out.println("\nThank you for using TaskMate!");
         System.out.println("All data is saved in the database.");
+        DatabaseConfig.shutdown();
     }
 
     // Helper methods for input
@@ -709,13 +825,16 @@ public class Main {
         }
     }
 
-    private static String getPriorityInput(String prompt) {
+    /**
+     * Read a priority; returns null when the input is left empty
+     */
+    private static Priority getPriorityInput(String prompt) {
         while (true) {
             String input = getStringInput(prompt);
-            if (input.isEmpty()) return input;
-            String lower = input.toLowerCase();
-            if (lower.equals("low") || lower.equals("medium") || lower.equals("high")) {
-                return lower;
+            if (input.isEmpty()) return null;
+            Priority priority = Priority.fromLabel(input);
+            if (priority != null) {
+                return priority;
             }
             System.out.println("Invalid priority! Use: low, medium, or high");
         }
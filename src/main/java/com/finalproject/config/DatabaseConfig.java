@@ -3,7 +3,6 @@ package com.finalproject.config;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.Properties;
 
@@ -16,6 +15,8 @@ public class DatabaseConfig {
     private static String username;
     private static String password;
     private static String driver;
+    private static Properties properties = new Properties();
+    private static volatile ConnectionPool pool;
 
     static {
         loadProperties();
@@ -28,6 +29,7 @@ public class DatabaseConfig {
         Properties props = new Properties();
         try (FileInputStream fis = new FileInputStream(CONFIG_FILE)) {
             props.load(fis);
+            properties = props;
             url = props.getProperty("db.url");
             username = props.getProperty("db.username");
             password = props.getProperty("db.password");
@@ -51,12 +53,150 @@ public class DatabaseConfig {
     }
 
     /**
-     * Get a database connection
+     * Get a database connection from the pool.
+     * Closing it (or passing it to DatabaseUtil.closeConnection) returns it to the pool.
      * @return Connection object
      * @throws SQLException if connection fails
      */
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(url, username, password);
+        return getPool().getConnection();
+    }
+
+    /**
+     * Lazily create the connection pool from db.pool.* properties
+     */
+    private static ConnectionPool getPool() {
+        ConnectionPool current = pool;
+        if (current == null) {
+            synchronized (DatabaseConfig.class) {
+                current = pool;
+                if (current == null) {
+                    current = new ConnectionPool(url, username, password,
+                            getIntProperty("db.pool.minSize", 1),
+                            getIntProperty("db.pool.maxSize", 10),
+                            getLongProperty("db.pool.idleTimeoutMs", 300000L),
+                            getLongProperty("db.pool.acquireTimeoutMs", 5000L),
+                            properties.getProperty("db.pool.validationQuery", "SELECT 1"),
+                            getIntProperty("db.pool.statementCacheSize", 32));
+                    pool = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Get current connection pool statistics
+     */
+    public static ConnectionPool.Stats getPoolStats() {
+        return getPool().getStats();
+    }
+
+    /**
+     * True when connected to MySQL (as opposed to H2 / in-memory)
+     */
+    public static boolean isMySql() {
+        return url != null && url.startsWith("jdbc:mysql:");
+    }
+
+    /**
+     * Fetch size for row-by-row streaming queries (db.streamFetchSize).
+     * MySQL Connector/J only streams with Integer.MIN_VALUE unless useCursorFetch=true is set,
+     * otherwise it buffers the whole result set in memory.
+     */
+    public static int getStreamFetchSize() {
+        int fetchSize = getIntProperty("db.streamFetchSize", 500);
+        if (isMySql() && !url.contains("useCursorFetch=true")) {
+            return Integer.MIN_VALUE;
+        }
+        return fetchSize;
+    }
+
+    /**
+     * Rows per JDBC batch for bulk inserts (db.bulk.batchSize)
+     */
+    public static int getBulkBatchSize() {
+        return Math.max(1, getIntProperty("db.bulk.batchSize", 500));
+    }
+
+    /**
+     * Rows inserted between commits for bulk inserts (db.bulk.commitInterval)
+     */
+    public static int getBulkCommitInterval() {
+        return Math.max(1, getIntProperty("db.bulk.commitInterval", 5000));
+    }
+
+    /**
+     * Number of task ids reserved per round trip to id_sequences (db.idBlockSize)
+     */
+    public static int getIdBlockSize() {
+        return Math.max(1, getIntProperty("db.idBlockSize", 1000));
+    }
+
+    /**
+     * Whether TaskService caches tasks by id (cache.tasks.enabled).
+     * Turn off when other processes write to the same database and reads must be current.
+     */
+    public static boolean isTaskCacheEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("cache.tasks.enabled", "true").trim());
+    }
+
+    public static int getTaskCacheMaxSize() {
+        return Math.max(1, getIntProperty("cache.tasks.maxSize", 1000));
+    }
+
+    /**
+     * Task cache time-to-live in milliseconds, 0 for no expiry (cache.tasks.ttlMs)
+     */
+    public static long getTaskCacheTtlMillis() {
+        return Math.max(0, getLongProperty("cache.tasks.ttlMs", 60000L));
+    }
+
+    /**
+     * Whether ReportService caches report results (cache.reports.enabled).
+     * Writes by other processes do not invalidate it, as with the task cache.
+     */
+    public static boolean isReportCacheEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("cache.reports.enabled", "true").trim());
+    }
+
+    public static int getReportCacheMaxSize() {
+        return Math.max(1, getIntProperty("cache.reports.maxSize", 64));
+    }
+
+    /**
+     * Local file the CLI keeps its board snapshot in, or null when disabled (board.snapshot.file)
+     */
+    public static String getBoardSnapshotFile() {
+        String file = properties.getProperty("board.snapshot.file", "taskmate_board.bin").trim();
+        return file.isEmpty() ? null : file;
+    }
+
+    /**
+     * Close all pooled connections (call on application exit)
+     */
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+    }
+
+    private static int getIntProperty(String key, int defaultValue) {
+        return (int) getLongProperty(key, defaultValue);
+    }
+
+    private static long getLongProperty(String key, long defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid value for " + key + ": " + value + ", using " + defaultValue);
+            return defaultValue;
+        }
     }
 
     /**
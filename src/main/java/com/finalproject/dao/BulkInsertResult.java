@@ -0,0 +1,68 @@
+package com.finalproject.dao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-row outcome of TaskDAO.insertTasks, in the same order as the input list
+ */
+public class BulkInsertResult {
+
+    public enum Outcome {
+        INSERTED,
+        DUPLICATE, // id already in the database or earlier in the same input
+        FAILED
+    }
+
+    private final List<Outcome> outcomes;
+
+    public BulkInsertResult(int size) {
+        this.outcomes = new ArrayList<>(Collections.nCopies(size, Outcome.FAILED));
+    }
+
+    void set(int index, Outcome outcome) {
+        outcomes.set(index, outcome);
+    }
+
+    public Outcome getOutcome(int index) {
+        return outcomes.get(index);
+    }
+
+    public List<Outcome> getOutcomes() {
+        return Collections.unmodifiableList(outcomes);
+    }
+
+    public int size() {
+        return outcomes.size();
+    }
+
+    public int getInsertedCount() {
+        return count(Outcome.INSERTED);
+    }
+
+    public int getDuplicateCount() {
+        return count(Outcome.DUPLICATE);
+    }
+
+    public int getFailedCount() {
+        return count(Outcome.FAILED);
+    }
+
+    private int count(Outcome outcome) {
+        int count = 0;
+        for (Outcome o : outcomes) {
+            if (o == outcome) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkInsertResult{inserted=" + getInsertedCount() +
+                ", duplicates=" + getDuplicateCount() +
+                ", failed=" + getFailedCount() + '}';
+    }
+}
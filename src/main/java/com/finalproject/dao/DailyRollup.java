@@ -0,0 +1,249 @@
+package com.finalproject.dao;
+
+import com.finalproject.model.Status;
+import com.finalproject.model.Task;
+import com.finalproject.util.DatabaseUtil;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maintains the daily_rollup table, keyed by (day, status, assignee).
+ * task_count and time_spent hold the net change made that day, so summing them
+ * over all days gives the current totals per status; time_logged and completions
+ * count the hours logged and the tasks moved to Done that day.
+ * Every method writes on the caller's connection, so the rollup commits or rolls
+ * back together with the task change it records.
+ */
+public class DailyRollup {
+    private static final String SELECT_STATE =
+        "SELECT status, assigned_to, time_spent FROM tasks WHERE id = ?";
+
+    private static final String SELECT_STATE_FOR_UPDATE = SELECT_STATE + " FOR UPDATE";
+
+    private static final String UPDATE_ROLLUP =
+        "UPDATE daily_rollup SET task_count = task_count + ?, time_spent = time_spent + ?, " +
+        "time_logged = time_logged + ?, completions = completions + ? " +
+        "WHERE rollup_day = ? AND status = ? AND assignee = ?";
+
+    private static final String DELETE_ROLLUP = "DELETE FROM daily_rollup";
+
+    // Seed rows: current tasks by day of last update, logged time by day worked
+    private static final String SELECT_TASK_TOTALS =
+        "SELECT COALESCE(CAST(updated_at AS DATE), CURRENT_DATE) AS rollup_day, status, assigned_to, " +
+        "COUNT(*) AS task_count, SUM(time_spent) AS total_time FROM tasks " +
+        "GROUP BY COALESCE(CAST(updated_at AS DATE), CURRENT_DATE), status, assigned_to";
+
+    private static final String SELECT_LOGGED_TOTALS =
+        "SELECT CAST(e.started_at AS DATE) AS rollup_day, t.status, t.assigned_to, SUM(e.hours) AS total_time " +
+        "FROM time_entries e JOIN tasks t ON t.id = e.task_id " +
+        "GROUP BY CAST(e.started_at AS DATE), t.status, t.assigned_to";
+
+    private static final String INSERT_ROLLUP =
+        "INSERT INTO daily_rollup (rollup_day, status, assignee, task_count, time_spent, time_logged, completions) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * The fields of a task that decide its rollup row and totals
+     */
+    static final class State {
+        private final Status status;
+        private final String assignee;
+        private final float timeSpent;
+
+        private State(Status status, String assignee, float timeSpent) {
+            // Same values the columns default to
+            this.status = status != null ? status : Status.TODO;
+            this.assignee = assignee != null ? assignee : "";
+            this.timeSpent = timeSpent;
+        }
+
+        private boolean sameRow(State other) {
+            return status == other.status && assignee.equals(other.assignee);
+        }
+    }
+
+    static State stateOf(Task task) {
+        return new State(task.getStatus(), task.getAssignedTo(), task.getTimeSpent());
+    }
+
+    /**
+     * Read a task's state and lock its row until the caller's transaction ends
+     * @return the state, or null if the task does not exist
+     */
+    static State lockState(Connection conn, String taskId) throws SQLException {
+        return readState(conn, SELECT_STATE_FOR_UPDATE, taskId);
+    }
+
+    /**
+     * Read a task's state (after the caller's update)
+     * @return the state, or null if the task does not exist
+     */
+    static State readState(Connection conn, String taskId) throws SQLException {
+        return readState(conn, SELECT_STATE, taskId);
+    }
+
+    /**
+     * Record a task moving from one state to another on the given day.
+     * before is null for a new task, after is null for a deleted one.
+     */
+    static void recordChange(Connection conn, LocalDate day, State before, State after) throws SQLException {
+        if (before != null && after != null && before.sameRow(after)) {
+            double delta = (double) after.timeSpent - before.timeSpent;
+            if (delta != 0) {
+                add(conn, day, after.status, after.assignee, 0, delta, 0, 0);
+            }
+            return;
+        }
+        if (before != null) {
+            add(conn, day, before.status, before.assignee, -1, -before.timeSpent, 0, 0);
+        }
+        if (after != null) {
+            add(conn, day, after.status, after.assignee, 1, after.timeSpent, 0, isCompletion(before, after) ? 1 : 0);
+        }
+    }
+
+    /**
+     * Only a move into Done is a completion; later changes to a Done task
+     * (reassigning, editing, logging time) are not
+     */
+    static boolean isCompletion(State before, State after) {
+        return before != null && before.status != Status.DONE && after.status == Status.DONE;
+    }
+
+    /**
+     * Record new tasks, with one row update per (status, assignee) rather than per task
+     */
+    static void recordInserts(Connection conn, LocalDate day, Collection<Task> tasks) throws SQLException {
+        // status -> assignee -> {task count, time spent}
+        Map<Status, Map<String, double[]>> totals = new EnumMap<>(Status.class);
+        for (Task task : tasks) {
+            State state = stateOf(task);
+            double[] sums = totals.computeIfAbsent(state.status, k -> new HashMap<>())
+                    .computeIfAbsent(state.assignee, k -> new double[2]);
+            sums[0]++;
+            sums[1] += state.timeSpent;
+        }
+        for (Map.Entry<Status, Map<String, double[]>> byStatus : totals.entrySet()) {
+            for (Map.Entry<String, double[]> entry : byStatus.getValue().entrySet()) {
+                add(conn, day, byStatus.getKey(), entry.getKey(), (long) entry.getValue()[0], entry.getValue()[1], 0, 0);
+            }
+        }
+    }
+
+    /**
+     * Record hours logged by a timer on the given day
+     */
+    static void recordLoggedTime(Connection conn, LocalDate day, State state, double hours) throws SQLException {
+        add(conn, day, state.status, state.assignee, 0, 0, hours, 0);
+    }
+
+    /**
+     * Rebuild the rollup from the tasks and time_entries tables. Seeding sees each
+     * task once, with no earlier state, so by isCompletion it records no completions;
+     * completions before the rebuild are not recorded anywhere else.
+     */
+    public static void rebuild(Connection conn) throws SQLException {
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try {
+            pstmt = conn.prepareStatement(DELETE_ROLLUP);
+            pstmt.executeUpdate();
+            pstmt.close();
+
+            pstmt = conn.prepareStatement(SELECT_TASK_TOTALS);
+            rs = pstmt.executeQuery();
+            while (rs.next()) {
+                State state = new State(Status.fromLabel(rs.getString("status")), rs.getString("assigned_to"), 0);
+                add(conn, rs.getDate("rollup_day").toLocalDate(), state.status, state.assignee,
+                        rs.getLong("task_count"), rs.getDouble("total_time"), 0, 0);
+            }
+            rs.close();
+            pstmt.close();
+
+            pstmt = conn.prepareStatement(SELECT_LOGGED_TOTALS);
+            rs = pstmt.executeQuery();
+            while (rs.next()) {
+                State state = new State(Status.fromLabel(rs.getString("status")), rs.getString("assigned_to"), 0);
+                recordLoggedTime(conn, rs.getDate("rollup_day").toLocalDate(), state, rs.getDouble("total_time"));
+            }
+        } finally {
+            DatabaseUtil.closeResultSet(rs);
+            DatabaseUtil.closeStatement(pstmt);
+        }
+    }
+
+    /**
+     * Add to one rollup row, creating it on first use
+     */
+    private static void add(Connection conn, LocalDate day, Status status, String assignee, long taskCount,
+                    double timeSpent, double timeLogged, long completions) throws SQLException {
+        if (update(conn, day, status, assignee, taskCount, timeSpent, timeLogged, completions)) {
+            return;
+        }
+        PreparedStatement pstmt = null;
+        try {
+            pstmt = conn.prepareStatement(INSERT_ROLLUP);
+            pstmt.setDate(1, Date.valueOf(day));
+            pstmt.setString(2, status.getLabel());
+            pstmt.setString(3, assignee);
+            pstmt.setLong(4, taskCount);
+            pstmt.setDouble(5, timeSpent);
+            pstmt.setDouble(6, timeLogged);
+            pstmt.setLong(7, completions);
+            pstmt.executeUpdate();
+        } catch (SQLException e) {
+            // Another writer created the row first
+            if (!TaskDAO.isDuplicateKey(e)) {
+                throw e;
+            }
+            update(conn, day, status, assignee, taskCount, timeSpent, timeLogged, completions);
+        } finally {
+            DatabaseUtil.closeStatement(pstmt);
+        }
+    }
+
+    private static boolean update(Connection conn, LocalDate day, Status status, String assignee, long taskCount,
+                                  double timeSpent, double timeLogged, long completions) throws SQLException {
+        PreparedStatement pstmt = null;
+        try {
+            pstmt = conn.prepareStatement(UPDATE_ROLLUP);
+            pstmt.setLong(1, taskCount);
+            pstmt.setDouble(2, timeSpent);
+            pstmt.setDouble(3, timeLogged);
+            pstmt.setLong(4, completions);
+            pstmt.setDate(5, Date.valueOf(day));
+            pstmt.setString(6, status.getLabel());
+            pstmt.setString(7, assignee);
+            return pstmt.executeUpdate() > 0;
+        } finally {
+            DatabaseUtil.closeStatement(pstmt);
+        }
+    }
+
+    private static State readState(Connection conn, String sql, String taskId) throws SQLException {
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try {
+            pstmt = conn.prepareStatement(sql);
+            pstmt.setString(1, taskId);
+            rs = pstmt.executeQuery();
+            if (rs.next()) {
+                return new State(Status.fromLabel(rs.getString("status")), rs.getString("assigned_to"),
+                        rs.getFloat("time_spent"));
+            }
+            return null;
+        } finally {
+            DatabaseUtil.closeResultSet(rs);
+            DatabaseUtil.closeStatement(pstmt);
+        }
+    }
+}
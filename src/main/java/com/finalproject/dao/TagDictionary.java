@@ -0,0 +1,165 @@
+package com.finalproject.dao;
+
+import com.finalproject.config.DatabaseConfig;
+import com.finalproject.util.DatabaseUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process copy of the tags(id, name) dictionary.
+ * task_tags stores integer tag ids; this maps them back to one shared String
+ * per tag name, so tasks loaded with the same tag do not each hold a copy.
+ * Tags are never deleted, so cached entries never go stale.
+ */
+public class TagDictionary {
+    private static final String SELECT_TAG_BY_NAME =
+        "SELECT id, name FROM tags WHERE name = ?";
+
+    private static final String SELECT_ALL_TAG_NAMES =
+        "SELECT id, name FROM tags";
+
+    private static final String INSERT_TAG_NAME =
+        "INSERT INTO tags (name) VALUES (?)";
+
+    private static final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+    private static final Map<Integer, String> namesById = new ConcurrentHashMap<>();
+
+    /**
+     * Tag name for an id, reloading the dictionary once on a miss
+     * @return the shared name, or null if the id is unknown
+     */
+    static String name(Connection conn, int id) throws SQLException {
+        String name = namesById.get(id);
+        if (name == null) {
+            loadAll(conn);
+            name = namesById.get(id);
+        }
+        return name;
+    }
+
+    /**
+     * Id of an existing tag
+     * @return the id, or null if no task has ever used the tag
+     */
+    static Integer findId(Connection conn, String name) throws SQLException {
+        Integer id = idsByName.get(name);
+        if (id != null) {
+            return id;
+        }
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try {
+            pstmt = conn.prepareStatement(SELECT_TAG_BY_NAME);
+            pstmt.setString(1, name);
+            rs = pstmt.executeQuery();
+            if (rs.next()) {
+                return remember(rs.getInt("id"), rs.getString("name"), name);
+            }
+            return null;
+        } finally {
+            DatabaseUtil.closeResultSet(rs);
+            DatabaseUtil.closeStatement(pstmt);
+        }
+    }
+
+    /**
+     * Ids for the given tag names, adding missing names to the dictionary.
+     * New names are committed on their own connection before the caller's
+     * transaction uses them, so a rollback there can never leave a cached id
+     * without a row. Call this before opening the caller's connection.
+     */
+    static Map<String, Integer> getOrCreateIds(Collection<String> names) throws SQLException {
+        Map<String, Integer> ids = new HashMap<>();
+        Connection conn = null;
+        try {
+            for (String name : names) {
+                if (name == null || ids.containsKey(name)) {
+                    continue;
+                }
+                Integer id = idsByName.get(name);
+                if (id == null) {
+                    if (conn == null) {
+                        conn = DatabaseConfig.getConnection();
+                    }
+                    id = findId(conn, name);
+                    if (id == null) {
+                        id = insert(conn, name);
+                    }
+                }
+                ids.put(name, id);
+            }
+            return ids;
+        } finally {
+            DatabaseUtil.closeConnection(conn);
+        }
+    }
+
+    /**
+     * Forget all cached entries (e.g. after the tags table was rebuilt)
+     */
+    public static void clear() {
+        idsByName.clear();
+        namesById.clear();
+    }
+
+    private static int insert(Connection conn, String name) throws SQLException {
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try {
+            pstmt = conn.prepareStatement(INSERT_TAG_NAME, PreparedStatement.RETURN_GENERATED_KEYS);
+            pstmt.setString(1, name);
+            pstmt.executeUpdate();
+            rs = pstmt.getGeneratedKeys();
+            if (rs.next()) {
+                return remember(rs.getInt(1), name, name);
+            }
+        } catch (SQLException e) {
+            // Another writer added the same name first
+            if (!TaskDAO.isDuplicateKey(e)) {
+                throw e;
+            }
+        } finally {
+            DatabaseUtil.closeResultSet(rs);
+            DatabaseUtil.closeStatement(pstmt);
+        }
+        Integer id = findId(conn, name);
+        if (id == null) {
+            throw new SQLException("Could not add tag: " + name);
+        }
+        return id;
+    }
+
+    private static void loadAll(Connection conn) throws SQLException {
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try {
+            pstmt = conn.prepareStatement(SELECT_ALL_TAG_NAMES);
+            rs = pstmt.executeQuery();
+            while (rs.next()) {
+                String name = rs.getString("name");
+                remember(rs.getInt("id"), name, name);
+            }
+        } finally {
+            DatabaseUtil.closeResultSet(rs);
+            DatabaseUtil.closeStatement(pstmt);
+        }
+    }
+
+    /**
+     * Cache one entry; lookups under the requested spelling (which can differ
+     * from the stored one under a case-insensitive collation) map to the same id
+     */
+    private static int remember(int id, String storedName, String requestedName) {
+        String shared = namesById.computeIfAbsent(id, k -> storedName);
+        idsByName.putIfAbsent(shared, id);
+        idsByName.putIfAbsent(requestedName, id);
+        return id;
+    }
+}
@@ -1,12 +1,42 @@
 package com.finalproject.dao;
 
 import com.finalproject.config.DatabaseConfig;
+import com.finalproject.model.Priority;
+import com.finalproject.model.SearchResult;
+import com.finalproject.model.Status;
 import com.finalproject.model.Task;
+import com.finalproject.model.TaskChanges;
+import com.finalproject.model.TaskColumns;
+import com.finalproject.model.TaskPage;
+import com.finalproject.model.TimeTotals;
 import com.finalproject.util.DatabaseUtil;
+import com.finalproject.util.IdGenerator;
+import com.finalproject.util.SearchTokenizer;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.sql.*;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Data Access Object for Task entity - MySQL database operations
@@ -18,28 +48,70 @@ public class TaskDAO {
         "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
     
     private static final String INSERT_TASK_TAG = 
-        "INSERT INTO task_tags (task_id, tag) VALUES (?, ?)";
+        "INSERT INTO task_tags (task_id, tag_id) VALUES (?, ?)";
     
+    // Task rows are read without the tag join; tags are loaded afterwards in one
+    // batched IN query per chunk and merged by id (see loadTags)
     private static final String SELECT_ALL_TASKS = 
-        "SELECT t.*, GROUP_CONCAT(tt.tag) as tags FROM tasks t " +
-        "LEFT JOIN task_tags tt ON t.id = tt.task_id " +
-        "GROUP BY t.id ORDER BY t.created_at DESC";
+        "SELECT t.* FROM tasks t ORDER BY t.created_at DESC";
+    
+    // Time logged per task in a range; time_spent here is the hours logged in the range
+    private static final String SELECT_LOGGED_TIME_BY_TASK = 
+        "SELECT t.title, t.status, SUM(e.hours) AS time_spent " +
+        "FROM time_entries e JOIN tasks t ON t.id = e.task_id " +
+        "WHERE e.started_at >= ? AND e.started_at < ? " +
+        "GROUP BY t.id, t.title, t.status, t.created_at " +
+        "ORDER BY t.created_at DESC";
+    
+    // Report aggregates - only one row per group leaves the database.
+    // Summing the daily rollup's net changes over all days gives the current totals.
+    private static final String SUM_TIME_BY_STATUS = 
+        "SELECT status, SUM(task_count) AS task_count, SUM(time_spent) AS total_time FROM daily_rollup " +
+        "GROUP BY status";
+    
+    private static final String SUM_ROLLUP_BY_DAY = 
+        "SELECT rollup_day, SUM(task_count) AS task_count, SUM(time_logged) AS total_time, " +
+        "SUM(completions) AS completions FROM daily_rollup " +
+        "WHERE rollup_day >= ? AND rollup_day <= ? GROUP BY rollup_day";
+    
+    private static final String SUM_LOGGED_TIME_BY_STATUS = 
+        "SELECT t.status, COUNT(DISTINCT e.task_id) AS task_count, SUM(e.hours) AS total_time " +
+        "FROM time_entries e JOIN tasks t ON t.id = e.task_id " +
+        "WHERE e.started_at >= ? AND e.started_at < ? GROUP BY t.status";
+    
+    private static final String INSERT_TIME_ENTRY = 
+        "INSERT INTO time_entries (task_id, started_at, ended_at, hours) VALUES (?, ?, ?, ?)";
     
     private static final String SELECT_TASK_BY_ID = 
-        "SELECT t.*, GROUP_CONCAT(tt.tag) as tags FROM tasks t " +
-        "LEFT JOIN task_tags tt ON t.id = tt.task_id " +
-        "WHERE t.id = ? GROUP BY t.id";
+        "SELECT t.* FROM tasks t WHERE t.id = ?";
     
     private static final String SELECT_TASKS_BY_STATUS = 
-        "SELECT t.*, GROUP_CONCAT(tt.tag) as tags FROM tasks t " +
-        "LEFT JOIN task_tags tt ON t.id = tt.task_id " +
-        "WHERE t.status = ? GROUP BY t.id ORDER BY t.created_at DESC";
+        "SELECT t.* FROM tasks t WHERE t.status = ? ORDER BY t.created_at DESC";
     
+    // Watermark queries compare client-set updated_at / deleted_at values, not a database
+    // sequence: a write from another process that commits with a timestamp older than a
+    // reader's watermark is never returned; it shows up on the next full reload. The CLI
+    // reloads after its own imports, which keep the rows' older timestamps.
+    private static final String SELECT_TASKS_UPDATED_SINCE = 
+        "SELECT t.* FROM tasks t WHERE t.updated_at >= ? ORDER BY t.updated_at";
+
+    private static final String SELECT_TOMBSTONES_SINCE = 
+        "SELECT task_id, deleted_at FROM task_tombstones WHERE deleted_at >= ? ORDER BY deleted_at";
+
+    private static final String UPDATE_TOMBSTONE = 
+        "UPDATE task_tombstones SET deleted_at = ? WHERE task_id = ?";
+
+    private static final String INSERT_TOMBSTONE = 
+        "INSERT INTO task_tombstones (task_id, deleted_at) VALUES (?, ?)";
+
     private static final String UPDATE_TASK = 
         "UPDATE tasks SET title = ?, description = ?, status = ?, priority = ?, " +
         "time_spent = ?, start_time = ?, end_time = ?, assigned_to = ?, updated_at = ? " +
         "WHERE id = ?";
     
+    private static final String SELECT_TAGS_FOR_TASK = 
+        "SELECT tag_id FROM task_tags WHERE task_id = ?";
+    
     private static final String DELETE_TASK_TAGS = 
         "DELETE FROM task_tags WHERE task_id = ?";
     
@@ -47,25 +119,85 @@ public class TaskDAO {
         "DELETE FROM tasks WHERE id = ?";
     
     private static final String SEARCH_TASKS = 
-        "SELECT t.*, GROUP_CONCAT(tt.tag) as tags FROM tasks t " +
-        "LEFT JOIN task_tags tt ON t.id = tt.task_id " +
+        "SELECT t.* FROM tasks t " +
         "WHERE t.title LIKE ? OR t.description LIKE ? " +
-        "GROUP BY t.id ORDER BY t.created_at DESC";
+        "ORDER BY t.created_at DESC";
+    
+    // MySQL FULLTEXT search over ft_title_description, ranked by relevance
+    private static final String FULLTEXT_SEARCH_TASKS = 
+        "SELECT t.*, MATCH(t.title, t.description) AGAINST (? IN BOOLEAN MODE) AS relevance " +
+        "FROM tasks t WHERE MATCH(t.title, t.description) AGAINST (? IN BOOLEAN MODE) " +
+        "ORDER BY relevance DESC LIMIT ?";
+    
+    private static final String SEARCH_TASKS_LIMITED = SEARCH_TASKS + " LIMIT ?";
     
     private static final String SELECT_TASKS_BY_PRIORITY = 
-        "SELECT t.*, GROUP_CONCAT(tt.tag) as tags FROM tasks t " +
-        "LEFT JOIN task_tags tt ON t.id = tt.task_id " +
-        "WHERE t.priority = ? GROUP BY t.id ORDER BY t.created_at DESC";
+        "SELECT t.* FROM tasks t WHERE t.priority = ? ORDER BY t.created_at DESC";
     
     private static final String SELECT_TASKS_BY_TAG = 
-        "SELECT t.*, GROUP_CONCAT(tt.tag) as tags FROM tasks t " +
-        "INNER JOIN task_tags tt ON t.id = tt.task_id " +
-        "WHERE tt.tag = ? GROUP BY t.id ORDER BY t.created_at DESC";
+        "SELECT t.* FROM tasks t " +
+        "WHERE t.id IN (SELECT tt.task_id FROM task_tags tt JOIN tags g ON g.id = tt.tag_id WHERE g.name = ?) " +
+        "ORDER BY t.created_at DESC";
     
     private static final String SELECT_TASKS_BY_ASSIGNED = 
-        "SELECT t.*, GROUP_CONCAT(tt.tag) as tags FROM tasks t " +
-        "LEFT JOIN task_tags tt ON t.id = tt.task_id " +
-        "WHERE t.assigned_to = ? GROUP BY t.id ORDER BY t.created_at DESC";
+        "SELECT t.* FROM tasks t WHERE t.assigned_to = ? ORDER BY t.created_at DESC";
+    
+    private static final String SELECT_ALL_TAGS = 
+        "SELECT task_id, tag_id FROM task_tags";
+    
+    // Largest number of ids bound into one tag IN query
+    private static final int TAG_FETCH_CHUNK = 512;
+
+    // Targeted partial updates - touch only the affected columns/rows, no read first
+    private static final String UPDATE_STATUS = 
+        "UPDATE tasks SET status = ?, updated_at = ? WHERE id = ?";
+    
+    private static final String UPDATE_ASSIGNEE = 
+        "UPDATE tasks SET assigned_to = ?, updated_at = ? WHERE id = ?";
+    
+    private static final String UPDATE_DETAILS = 
+        "UPDATE tasks SET title = COALESCE(?, title), description = COALESCE(?, description), " +
+        "priority = COALESCE(?, priority), updated_at = ? WHERE id = ?";
+    
+    private static final String UPDATE_TIMER_FIELDS = 
+        "UPDATE tasks SET status = ?, time_spent = ?, start_time = ?, end_time = ?, updated_at = ? " +
+        "WHERE id = ?";
+    
+    private static final String TOUCH_TASK = 
+        "UPDATE tasks SET updated_at = ? WHERE id = ?";
+    
+    private static final String INSERT_TAG_IF_ABSENT = 
+        "INSERT INTO task_tags (task_id, tag_id) SELECT ?, ? FROM tasks t WHERE t.id = ? " +
+        "AND NOT EXISTS (SELECT 1 FROM task_tags WHERE task_id = ? AND tag_id = ?)";
+    
+    private static final String DELETE_TASK_TAG = 
+        "DELETE FROM task_tags WHERE task_id = ? AND tag_id = ?";
+    
+    private static final String SELECT_TIMER_STATE = 
+        "SELECT id, status, time_spent, start_time, end_time FROM tasks WHERE id = ?";
+    
+    private static final String SELECT_RUNNING_TIMERS = 
+        "SELECT id, status, time_spent, start_time, end_time FROM tasks " +
+        "WHERE start_time IS NOT NULL";
+
+    // Keyset pagination - seeks on (created_at, id) so each page is an index range scan
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private static final String PAGE_SELECT = 
+        "SELECT t.* FROM tasks t WHERE 1 = 1";
+    
+    private static final String PAGE_SEEK = 
+        " AND (t.created_at < ? OR (t.created_at = ? AND t.id < ?))";
+    
+    private static final String PAGE_ORDER = 
+        " ORDER BY t.created_at DESC, t.id DESC LIMIT ?";
+    
+    private static final String FILTER_STATUS = " AND t.status = ?";
+    private static final String FILTER_PRIORITY = " AND t.priority = ?";
+    private static final String FILTER_ASSIGNED = " AND t.assigned_to = ?";
+    private static final String FILTER_TAG = 
+        " AND t.id IN (SELECT tt.task_id FROM task_tags tt JOIN tags g ON g.id = tt.tag_id WHERE g.name = ?)";
 
     /**
      * Insert a new task
@@ -75,32 +207,27 @@ public class TaskDAO {
         PreparedStatement pstmt = null;
         
         try {
+            Map<String, Integer> tagIds = TagDictionary.getOrCreateIds(tagsOf(task));
             conn = DatabaseConfig.getConnection();
             conn.setAutoCommit(false); // Start transaction
             
             // Insert task
             pstmt = conn.prepareStatement(INSERT_TASK);
-            pstmt.setString(1, task.getId());
-            pstmt.setString(2, task.getTitle());
-            pstmt.setString(3, task.getDescription());
-            pstmt.setString(4, task.getStatus());
-            pstmt.setString(5, task.getPriority());
-            pstmt.setFloat(6, task.getTimeSpent());
-            pstmt.setString(7, task.getStartTime());
-            pstmt.setString(8, task.getEndTime());
-            pstmt.setString(9, task.getAssignedTo());
-            pstmt.setTimestamp(10, Timestamp.valueOf(task.getCreatedAt()));
-            pstmt.setTimestamp(11, Timestamp.valueOf(task.getUpdatedAt()));
+            setInsertParameters(pstmt, task);
             
             int rowsAffected = pstmt.executeUpdate();
             pstmt.close();
             
+            if (rowsAffected > 0) {
+                DailyRollup.recordChange(conn, LocalDate.now(), null, DailyRollup.stateOf(task));
+            }
+            
             // Insert tags
             if (rowsAffected > 0 && task.getTags() != null && !task.getTags().isEmpty()) {
                 pstmt = conn.prepareStatement(INSERT_TASK_TAG);
-                for (String tag : task.getTags()) {
+                for (int tagId : distinctTagIds(task, tagIds)) {
                     pstmt.setString(1, task.getId());
-                    pstmt.setString(2, tag);
+                    pstmt.setInt(2, tagId);
                     pstmt.addBatch();
                 }
                 pstmt.executeBatch();
@@ -125,6 +252,264 @@ public class TaskDAO {
         }
     }
 
+    /**
+     * Insert many tasks and their tags as JDBC batches in one transaction,
+     * committing every db.bulk.commitInterval rows.
+     * A batch that fails is retried row by row so each row gets its own outcome.
+     */
+    public BulkInsertResult insertTasks(List<Task> tasks) {
+        BulkInsertResult result = new BulkInsertResult(tasks.size());
+        if (tasks.isEmpty()) {
+            return result;
+        }
+        
+        int batchSize = DatabaseConfig.getBulkBatchSize();
+        int commitInterval = DatabaseConfig.getBulkCommitInterval();
+        Connection conn = null;
+        PreparedStatement taskStmt = null;
+        PreparedStatement tagStmt = null;
+        int committedUpTo = 0; // rows before this index are committed
+        
+        try {
+            Set<String> tagNames = new HashSet<>();
+            for (Task task : tasks) {
+                tagNames.addAll(tagsOf(task));
+            }
+            Map<String, Integer> tagIds = TagDictionary.getOrCreateIds(tagNames);
+            
+            conn = DatabaseConfig.getConnection();
+            conn.setAutoCommit(false);
+            taskStmt = conn.prepareStatement(INSERT_TASK);
+            tagStmt = conn.prepareStatement(INSERT_TASK_TAG);
+            
+            Set<String> seenIds = new HashSet<>();
+            int uncommitted = 0;
+            
+            for (int start = 0; start < tasks.size(); start += batchSize) {
+                int end = Math.min(start + batchSize, tasks.size());
+                Set<String> existingIds = findExistingIds(conn, tasks.subList(start, end));
+                
+                List<Integer> pending = new ArrayList<>();
+                for (int i = start; i < end; i++) {
+                    String id = tasks.get(i).getId();
+                    if (id == null) {
+                        result.set(i, BulkInsertResult.Outcome.FAILED);
+                    } else if (existingIds.contains(id) || !seenIds.add(id)) {
+                        result.set(i, BulkInsertResult.Outcome.DUPLICATE);
+                    } else {
+                        pending.add(i);
+                    }
+                }
+                
+                if (!pending.isEmpty()) {
+                    insertBatch(conn, taskStmt, tagStmt, tagIds, tasks, pending, result);
+                    List<String> insertedIds = new ArrayList<>(pending.size());
+                    for (int i : pending) {
+                        insertedIds.add(tasks.get(i).getId());
+                    }
+                    IdGenerator.advancePast(conn, insertedIds);
+                    uncommitted += pending.size();
+                }
+                
+                if (uncommitted >= commitInterval) {
+                    conn.commit();
+                    committedUpTo = end;
+                    uncommitted = 0;
+                }
+            }
+            
+            conn.commit();
+            committedUpTo = tasks.size();
+            
+        } catch (SQLException e) {
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    System.err.println("Error rolling back transaction: " + ex.getMessage());
+                }
+            }
+            // Everything after the last commit was rolled back
+            for (int i = committedUpTo; i < tasks.size(); i++) {
+                if (result.getOutcome(i) == BulkInsertResult.Outcome.INSERTED) {
+                    result.set(i, BulkInsertResult.Outcome.FAILED);
+                }
+            }
+            System.err.println("Error bulk inserting tasks: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            DatabaseUtil.closeStatement(tagStmt);
+            DatabaseUtil.closeAll(conn, taskStmt);
+        }
+        
+        return result;
+    }
+
+    /**
+     * Insert the pending rows as one task batch and one tag batch
+     */
+    private void insertBatch(Connection conn, PreparedStatement taskStmt, PreparedStatement tagStmt,
+                             Map<String, Integer> tagIds, List<Task> tasks, List<Integer> pending,
+                             BulkInsertResult result) throws SQLException {
+        Savepoint savepoint = conn.setSavepoint();
+        try {
+            boolean hasTags = false;
+            for (int i : pending) {
+                Task task = tasks.get(i);
+                setInsertParameters(taskStmt, task);
+                taskStmt.addBatch();
+                for (int tagId : distinctTagIds(task, tagIds)) {
+                    tagStmt.setString(1, task.getId());
+                    tagStmt.setInt(2, tagId);
+                    tagStmt.addBatch();
+                    hasTags = true;
+                }
+            }
+            taskStmt.executeBatch();
+            if (hasTags) {
+                tagStmt.executeBatch();
+            }
+            List<Task> inserted = new ArrayList<>(pending.size());
+            for (int i : pending) {
+                inserted.add(tasks.get(i));
+            }
+            DailyRollup.recordInserts(conn, LocalDate.now(), inserted);
+            for (int i : pending) {
+                result.set(i, BulkInsertResult.Outcome.INSERTED);
+            }
+        } catch (SQLException e) {
+            // Undo the partial batch and find the bad rows one at a time
+            taskStmt.clearBatch();
+            tagStmt.clearBatch();
+            conn.rollback(savepoint);
+            for (int i : pending) {
+                result.set(i, insertSingle(conn, taskStmt, tagStmt, tagIds, tasks.get(i)));
+            }
+        }
+    }
+
+    /**
+     * Insert one task and its tags inside a savepoint, classifying any failure
+     */
+    private BulkInsertResult.Outcome insertSingle(Connection conn, PreparedStatement taskStmt,
+                                                  PreparedStatement tagStmt, Map<String, Integer> tagIds,
+                                                  Task task) throws SQLException {
+        Savepoint savepoint = conn.setSavepoint();
+        try {
+            setInsertParameters(taskStmt, task);
+            taskStmt.executeUpdate();
+            for (int tagId : distinctTagIds(task, tagIds)) {
+                tagStmt.setString(1, task.getId());
+                tagStmt.setInt(2, tagId);
+                tagStmt.executeUpdate();
+            }
+            DailyRollup.recordChange(conn, LocalDate.now(), null, DailyRollup.stateOf(task));
+            return BulkInsertResult.Outcome.INSERTED;
+        } catch (SQLException e) {
+            conn.rollback(savepoint);
+            if (isDuplicateKey(e)) {
+                return BulkInsertResult.Outcome.DUPLICATE;
+            }
+            System.err.println("Error inserting task " + task.getId() + ": " + e.getMessage());
+            return BulkInsertResult.Outcome.FAILED;
+        }
+    }
+
+    /**
+     * Find which of the given task ids already exist, in one query
+     */
+    private Set<String> findExistingIds(Connection conn, List<Task> tasks) throws SQLException {
+        Set<String> existing = new HashSet<>();
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try {
+            pstmt = conn.prepareStatement("SELECT id FROM tasks WHERE id IN (" + placeholders(tasks.size()) + ")");
+            for (int i = 0; i < tasks.size(); i++) {
+                pstmt.setString(i + 1, tasks.get(i).getId());
+            }
+            rs = pstmt.executeQuery();
+            while (rs.next()) {
+                existing.add(rs.getString("id"));
+            }
+        } finally {
+            DatabaseUtil.closeResultSet(rs);
+            DatabaseUtil.closeStatement(pstmt);
+        }
+        return existing;
+    }
+
+    static boolean isDuplicateKey(SQLException e) {
+        // MySQL ER_DUP_ENTRY, or the standard unique violation state used by H2
+        return e.getErrorCode() == 1062 || "23505".equals(e.getSQLState());
+    }
+
+    /**
+     * Column value for a status (stored as its label in an ENUM column)
+     */
+    private static String label(Status status) {
+        return status != null ? status.getLabel() : null;
+    }
+
+    /**
+     * Column value for a priority (stored as its label in an ENUM column)
+     */
+    private static String label(Priority priority) {
+        return priority != null ? priority.getLabel() : null;
+    }
+
+    /**
+     * Column value for an optional timer timestamp
+     */
+    private static Timestamp timestamp(LocalDateTime time) {
+        return time != null ? Timestamp.valueOf(time) : null;
+    }
+
+    /**
+     * Read an optional timer timestamp column
+     */
+    private static LocalDateTime localDateTime(ResultSet rs, String column) throws SQLException {
+        Timestamp value = rs.getTimestamp(column);
+        return value != null ? value.toLocalDateTime() : null;
+    }
+
+    /**
+     * A task's tag names, never null
+     */
+    private static List<String> tagsOf(Task task) {
+        return task.getTags() != null ? task.getTags() : Collections.emptyList();
+    }
+
+    /**
+     * Dictionary ids of a task's tags, without duplicates
+     */
+    private static Set<Integer> distinctTagIds(Task task, Map<String, Integer> tagIds) {
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (String tag : tagsOf(task)) {
+            Integer id = tagIds.get(tag);
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Bind INSERT_TASK parameters
+     */
+    private void setInsertParameters(PreparedStatement pstmt, Task task) throws SQLException {
+        pstmt.setString(1, task.getId());
+        pstmt.setString(2, task.getTitle());
+        pstmt.setString(3, task.getDescription());
+        pstmt.setString(4, label(task.getStatus()));
+        pstmt.setString(5, label(task.getPriority()));
+        pstmt.setFloat(6, task.getTimeSpent());
+        pstmt.setTimestamp(7, timestamp(task.getStartTime()));
+        pstmt.setTimestamp(8, timestamp(task.getEndTime()));
+        pstmt.setString(9, task.getAssignedTo());
+        pstmt.setTimestamp(10, Timestamp.valueOf(task.getCreatedAt()));
+        pstmt.setTimestamp(11, Timestamp.valueOf(task.getUpdatedAt()));
+    }
+
     /**
      * Get all tasks
      */
@@ -142,6 +527,7 @@ public class TaskDAO {
             while (rs.next()) {
                 tasks.add(mapResultSetToTask(rs));
             }
+            loadAllTags(conn, tasks);
             
         } catch (SQLException e) {
             System.err.println("Error retrieving tasks: " + e.getMessage());
@@ -168,7 +554,9 @@ public class TaskDAO {
             rs = pstmt.executeQuery();
             
             if (rs.next()) {
-                return mapResultSetToTask(rs);
+                Task task = mapResultSetToTask(rs);
+                loadTags(conn, Collections.singletonList(task));
+                return task;
             }
             
         } catch (SQLException e) {
@@ -184,7 +572,7 @@ public class TaskDAO {
     /**
      * Get tasks by status
      */
-    public List<Task> getTasksByStatus(String status) {
+    public List<Task> getTasksByStatus(Status status) {
         List<Task> tasks = new ArrayList<>();
         Connection conn = null;
         PreparedStatement pstmt = null;
@@ -193,12 +581,13 @@ public class TaskDAO {
         try {
             conn = DatabaseConfig.getConnection();
             pstmt = conn.prepareStatement(SELECT_TASKS_BY_STATUS);
-            pstmt.setString(1, status);
+            pstmt.setString(1, label(status));
             rs = pstmt.executeQuery();
             
             while (rs.next()) {
                 tasks.add(mapResultSetToTask(rs));
             }
+            loadTags(conn, tasks);
             
         } catch (SQLException e) {
             System.err.println("Error retrieving tasks by status: " + e.getMessage());
@@ -210,6 +599,74 @@ public class TaskDAO {
         return tasks;
     }
 
+    /**
+     * Get tasks created, updated or deleted at or after the given time.
+     * Deletions come from task_tombstones; a tombstone is dropped when the same id
+     * was re-created after it. The returned watermark is the newest change seen.
+     * Updates committed late with an older timestamp are missed (see SELECT_TASKS_UPDATED_SINCE).
+     * @return the changes, or null on error
+     */
+    public TaskChanges getChangesSince(LocalDateTime since) {
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        
+        try {
+            conn = DatabaseConfig.getConnection();
+            Timestamp sinceTs = Timestamp.valueOf(since);
+            LocalDateTime watermark = since;
+
+            List<Task> updated = new ArrayList<>();
+            pstmt = conn.prepareStatement(SELECT_TASKS_UPDATED_SINCE);
+            pstmt.setTimestamp(1, sinceTs);
+            rs = pstmt.executeQuery();
+            while (rs.next()) {
+                updated.add(mapResultSetToTask(rs));
+            }
+            DatabaseUtil.closeResultSet(rs);
+            DatabaseUtil.closeStatement(pstmt);
+            loadTags(conn, updated);
+
+            Map<String, LocalDateTime> updatedAtById = new HashMap<>();
+            for (Task task : updated) {
+                updatedAtById.put(task.getId(), task.getUpdatedAt());
+                if (task.getUpdatedAt() != null && task.getUpdatedAt().isAfter(watermark)) {
+                    watermark = task.getUpdatedAt();
+                }
+            }
+
+            List<String> deletedIds = new ArrayList<>();
+            pstmt = conn.prepareStatement(SELECT_TOMBSTONES_SINCE);
+            pstmt.setTimestamp(1, sinceTs);
+            rs = pstmt.executeQuery();
+            while (rs.next()) {
+                String taskId = rs.getString("task_id");
+                LocalDateTime deletedAt = rs.getTimestamp("deleted_at").toLocalDateTime();
+                LocalDateTime recreatedAt = updatedAtById.get(taskId);
+                if (recreatedAt == null || recreatedAt.isBefore(deletedAt)) {
+                    deletedIds.add(taskId);
+                }
+                if (deletedAt.isAfter(watermark)) {
+                    watermark = deletedAt;
+                }
+            }
+            if (!deletedIds.isEmpty()) {
+                // A re-created id's row is gone again if its tombstone is newer
+                Set<String> deleted = new HashSet<>(deletedIds);
+                updated.removeIf(task -> deleted.contains(task.getId()));
+            }
+
+            return new TaskChanges(updated, deletedIds, watermark);
+            
+        } catch (SQLException e) {
+            System.err.println("Error retrieving task changes: " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        } finally {
+            DatabaseUtil.closeAll(conn, pstmt, rs);
+        }
+    }
+
     /**
      * Update task
      */
@@ -218,18 +675,20 @@ public class TaskDAO {
         PreparedStatement pstmt = null;
         
         try {
+            Map<String, Integer> tagIds = TagDictionary.getOrCreateIds(tagsOf(task));
             conn = DatabaseConfig.getConnection();
             conn.setAutoCommit(false);
+            DailyRollup.State before = DailyRollup.lockState(conn, task.getId());
             
             // Update task
             pstmt = conn.prepareStatement(UPDATE_TASK);
             pstmt.setString(1, task.getTitle());
             pstmt.setString(2, task.getDescription());
-            pstmt.setString(3, task.getStatus());
-            pstmt.setString(4, task.getPriority());
+            pstmt.setString(3, label(task.getStatus()));
+            pstmt.setString(4, label(task.getPriority()));
             pstmt.setFloat(5, task.getTimeSpent());
-            pstmt.setString(6, task.getStartTime());
-            pstmt.setString(7, task.getEndTime());
+            pstmt.setTimestamp(6, timestamp(task.getStartTime()));
+            pstmt.setTimestamp(7, timestamp(task.getEndTime()));
             pstmt.setString(8, task.getAssignedTo());
             pstmt.setTimestamp(9, Timestamp.valueOf(task.getUpdatedAt()));
             pstmt.setString(10, task.getId());
@@ -237,22 +696,10 @@ public class TaskDAO {
             int rowsAffected = pstmt.executeUpdate();
             pstmt.close();
             
-            // Update tags - delete old and insert new
+            // Update tags - only write the rows that changed
             if (rowsAffected > 0) {
-                pstmt = conn.prepareStatement(DELETE_TASK_TAGS);
-                pstmt.setString(1, task.getId());
-                pstmt.executeUpdate();
-                pstmt.close();
-                
-                if (task.getTags() != null && !task.getTags().isEmpty()) {
-                    pstmt = conn.prepareStatement(INSERT_TASK_TAG);
-                    for (String tag : task.getTags()) {
-                        pstmt.setString(1, task.getId());
-                        pstmt.setString(2, tag);
-                        pstmt.addBatch();
-                    }
-                    pstmt.executeBatch();
-                }
+                syncTags(conn, task, tagIds);
+                DailyRollup.recordChange(conn, LocalDate.now(), before, DailyRollup.readState(conn, task.getId()));
             }
             
             conn.commit();
@@ -275,26 +722,92 @@ public class TaskDAO {
     }
 
     /**
-     * Delete task
+     * Update only the status column
      */
-    public boolean deleteTask(String id) {
+    public boolean updateStatus(String id, Status status, LocalDateTime updatedAt) {
+        return executeRollupUpdate(id, UPDATE_STATUS, "updating task status",
+                label(status), Timestamp.valueOf(updatedAt), id);
+    }
+
+    /**
+     * Update only the assigned_to column
+     */
+    public boolean setAssignee(String id, String assignedTo, LocalDateTime updatedAt) {
+        return executeRollupUpdate(id, UPDATE_ASSIGNEE, "assigning task",
+                assignedTo, Timestamp.valueOf(updatedAt), id);
+    }
+
+    /**
+     * Update title, description and priority; null values keep the stored value
+     */
+    public boolean updateDetails(String id, String title, String description, Priority priority,
+                                 LocalDateTime updatedAt) {
+        return executeSingleUpdate(UPDATE_DETAILS, "updating task details",
+                title, description, label(priority), Timestamp.valueOf(updatedAt), id);
+    }
+
+    /**
+     * Update only the timer columns (status, time_spent, start_time, end_time)
+     */
+    public boolean updateTimerFields(Task task) {
+        return executeRollupUpdate(task.getId(), UPDATE_TIMER_FIELDS, "updating task timer",
+                label(task.getStatus()), task.getTimeSpent(),
+                timestamp(task.getStartTime()), timestamp(task.getEndTime()),
+                Timestamp.valueOf(task.getUpdatedAt()), task.getId());
+    }
+
+    /**
+     * Save a stopped timer and log the interval it ran for, in one transaction.
+     * The interval is split at midnight so each time entry belongs to one day,
+     * and the hours added to time_spent are shared out by duration.
+     * @param startedAt when the timer was started (the task's end time is when it stopped)
+     * @param hours the hours the stop added to time_spent
+     */
+    public boolean updateTimerFields(Task task, LocalDateTime startedAt, float hours) {
         Connection conn = null;
         PreparedStatement pstmt = null;
         
         try {
             conn = DatabaseConfig.getConnection();
             conn.setAutoCommit(false);
+            DailyRollup.State before = DailyRollup.lockState(conn, task.getId());
             
-            // Delete tags first (foreign key constraint)
-            pstmt = conn.prepareStatement(DELETE_TASK_TAGS);
-            pstmt.setString(1, id);
-            pstmt.executeUpdate();
+            pstmt = conn.prepareStatement(UPDATE_TIMER_FIELDS);
+            pstmt.setString(1, label(task.getStatus()));
+            pstmt.setFloat(2, task.getTimeSpent());
+            pstmt.setTimestamp(3, timestamp(task.getStartTime()));
+            pstmt.setTimestamp(4, timestamp(task.getEndTime()));
+            pstmt.setTimestamp(5, Timestamp.valueOf(task.getUpdatedAt()));
+            pstmt.setString(6, task.getId());
+            int rowsAffected = pstmt.executeUpdate();
             pstmt.close();
             
-            // Delete task
-            pstmt = conn.prepareStatement(DELETE_TASK);
-            pstmt.setString(1, id);
-            int rowsAffected = pstmt.executeUpdate();
+            DailyRollup.State after = null;
+            if (rowsAffected > 0) {
+                after = DailyRollup.readState(conn, task.getId());
+                DailyRollup.recordChange(conn, LocalDate.now(), before, after);
+            }
+            
+            LocalDateTime endedAt = task.getEndTime();
+            if (rowsAffected > 0 && endedAt != null && endedAt.isAfter(startedAt)) {
+                double totalMillis = Duration.between(startedAt, endedAt).toMillis();
+                pstmt = conn.prepareStatement(INSERT_TIME_ENTRY);
+                LocalDateTime from = startedAt;
+                while (from.isBefore(endedAt)) {
+                    LocalDateTime midnight = from.toLocalDate().plusDays(1).atStartOfDay();
+                    LocalDateTime to = midnight.isBefore(endedAt) ? midnight : endedAt;
+                    pstmt.setString(1, task.getId());
+                    pstmt.setTimestamp(2, Timestamp.valueOf(from));
+                    pstmt.setTimestamp(3, Timestamp.valueOf(to));
+                    float pieceHours = totalMillis > 0
+                            ? (float) (hours * Duration.between(from, to).toMillis() / totalMillis) : 0.0f;
+                    pstmt.setFloat(4, pieceHours);
+                    pstmt.addBatch();
+                    DailyRollup.recordLoggedTime(conn, from.toLocalDate(), after, pieceHours);
+                    from = to;
+                }
+                pstmt.executeBatch();
+            }
             
             conn.commit();
             return rowsAffected > 0;
@@ -307,7 +820,7 @@ public class TaskDAO {
                     System.err.println("Error rolling back transaction: " + ex.getMessage());
                 }
             }
-            System.err.println("Error deleting task: " + e.getMessage());
+            System.err.println("Error saving stopped timer: " + e.getMessage());
             e.printStackTrace();
             return false;
         } finally {
@@ -316,54 +829,510 @@ public class TaskDAO {
     }
 
     /**
-     * Search tasks
+     * Add a single tag row if the task exists and does not have it yet
+     * @return true if the task exists
      */
-    public List<Task> searchTasks(String searchTerm) {
-        List<Task> tasks = new ArrayList<>();
+    public boolean addTag(String id, String tag, LocalDateTime updatedAt) {
         Connection conn = null;
         PreparedStatement pstmt = null;
-        ResultSet rs = null;
         
         try {
+            int tagId = TagDictionary.getOrCreateIds(Collections.singletonList(tag)).get(tag);
             conn = DatabaseConfig.getConnection();
-            pstmt = conn.prepareStatement(SEARCH_TASKS);
-            String searchPattern = "%" + searchTerm + "%";
-            pstmt.setString(1, searchPattern);
-            pstmt.setString(2, searchPattern);
-            rs = pstmt.executeQuery();
+            conn.setAutoCommit(false);
             
-            while (rs.next()) {
-                tasks.add(mapResultSetToTask(rs));
+            pstmt = conn.prepareStatement(TOUCH_TASK);
+            pstmt.setTimestamp(1, Timestamp.valueOf(updatedAt));
+            pstmt.setString(2, id);
+            int rowsAffected = pstmt.executeUpdate();
+            pstmt.close();
+            
+            if (rowsAffected > 0) {
+                pstmt = conn.prepareStatement(INSERT_TAG_IF_ABSENT);
+                pstmt.setString(1, id);
+                pstmt.setInt(2, tagId);
+                pstmt.setString(3, id);
+                pstmt.setString(4, id);
+                pstmt.setInt(5, tagId);
+                pstmt.executeUpdate();
             }
             
+            conn.commit();
+            return rowsAffected > 0;
+            
         } catch (SQLException e) {
-            System.err.println("Error searching tasks: " + e.getMessage());
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    System.err.println("Error rolling back transaction: " + ex.getMessage());
+                }
+            }
+            System.err.println("Error adding tag: " + e.getMessage());
             e.printStackTrace();
+            return false;
         } finally {
-            DatabaseUtil.closeAll(conn, pstmt, rs);
+            DatabaseUtil.closeAll(conn, pstmt);
         }
-        
-        return tasks;
     }
 
     /**
-     * Filter by priority
+     * Remove a single tag row
+     * @return true if the task exists
      */
-    public List<Task> filterByPriority(String priority) {
-        List<Task> tasks = new ArrayList<>();
+    public boolean removeTag(String id, String tag, LocalDateTime updatedAt) {
         Connection conn = null;
         PreparedStatement pstmt = null;
-        ResultSet rs = null;
         
         try {
             conn = DatabaseConfig.getConnection();
-            pstmt = conn.prepareStatement(SELECT_TASKS_BY_PRIORITY);
-            pstmt.setString(1, priority);
-            rs = pstmt.executeQuery();
+            conn.setAutoCommit(false);
             
-            while (rs.next()) {
-                tasks.add(mapResultSetToTask(rs));
-            }
+            pstmt = conn.prepareStatement(TOUCH_TASK);
+            pstmt.setTimestamp(1, Timestamp.valueOf(updatedAt));
+            pstmt.setString(2, id);
+            int rowsAffected = pstmt.executeUpdate();
+            pstmt.close();
+            
+            // A tag missing from the dictionary is on no task
+            Integer tagId = rowsAffected > 0 ? TagDictionary.findId(conn, tag) : null;
+            if (tagId != null) {
+                pstmt = conn.prepareStatement(DELETE_TASK_TAG);
+                pstmt.setString(1, id);
+                pstmt.setInt(2, tagId);
+                pstmt.executeUpdate();
+            }
+            
+            conn.commit();
+            return rowsAffected > 0;
+            
+        } catch (SQLException e) {
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    System.err.println("Error rolling back transaction: " + ex.getMessage());
+                }
+            }
+            System.err.println("Error removing tag: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        } finally {
+            DatabaseUtil.closeAll(conn, pstmt);
+        }
+    }
+
+    /**
+     * Get only the timer-related fields of a task (no tag join).
+     * The returned Task has id, status, timeSpent, startTime and endTime set.
+     */
+    public Task getTimerState(String id) {
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        
+        try {
+            conn = DatabaseConfig.getConnection();
+            pstmt = conn.prepareStatement(SELECT_TIMER_STATE);
+            pstmt.setString(1, id);
+            rs = pstmt.executeQuery();
+            
+            if (rs.next()) {
+                return mapTimerState(rs);
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error retrieving timer state: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            DatabaseUtil.closeAll(conn, pstmt, rs);
+        }
+        
+        return null;
+    }
+
+    /**
+     * Get timer state of every task whose timer is running
+     */
+    public List<Task> getRunningTimers() {
+        List<Task> tasks = new ArrayList<>();
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        
+        try {
+            conn = DatabaseConfig.getConnection();
+            pstmt = conn.prepareStatement(SELECT_RUNNING_TIMERS);
+            rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                tasks.add(mapTimerState(rs));
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error retrieving running timers: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            DatabaseUtil.closeAll(conn, pstmt, rs);
+        }
+        
+        return tasks;
+    }
+
+    private Task mapTimerState(ResultSet rs) throws SQLException {
+        Task task = new Task();
+        task.setId(rs.getString("id"));
+        task.setStatus(Status.fromLabel(rs.getString("status")));
+        task.setTimeSpent(rs.getFloat("time_spent"));
+        task.setStartTime(localDateTime(rs, "start_time"));
+        task.setEndTime(localDateTime(rs, "end_time"));
+        return task;
+    }
+
+    /**
+     * Run one parameterised UPDATE in auto-commit mode
+     * @return true if a row was changed
+     */
+    private boolean executeSingleUpdate(String sql, String action, Object... params) {
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        
+        try {
+            conn = DatabaseConfig.getConnection();
+            pstmt = conn.prepareStatement(sql);
+            for (int i = 0; i < params.length; i++) {
+                pstmt.setObject(i + 1, params[i]);
+            }
+            return pstmt.executeUpdate() > 0;
+            
+        } catch (SQLException e) {
+            System.err.println("Error " + action + ": " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        } finally {
+            DatabaseUtil.closeAll(conn, pstmt);
+        }
+    }
+
+    /**
+     * Run one parameterised UPDATE of a task row and record the change in the
+     * daily rollup, in one transaction
+     * @return true if the task was changed
+     */
+    private boolean executeRollupUpdate(String id, String sql, String action, Object... params) {
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        
+        try {
+            conn = DatabaseConfig.getConnection();
+            conn.setAutoCommit(false);
+            DailyRollup.State before = DailyRollup.lockState(conn, id);
+            
+            pstmt = conn.prepareStatement(sql);
+            for (int i = 0; i < params.length; i++) {
+                pstmt.setObject(i + 1, params[i]);
+            }
+            int rowsAffected = pstmt.executeUpdate();
+            if (rowsAffected > 0) {
+                DailyRollup.recordChange(conn, LocalDate.now(), before, DailyRollup.readState(conn, id));
+            }
+            
+            conn.commit();
+            return rowsAffected > 0;
+            
+        } catch (SQLException e) {
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    System.err.println("Error rolling back transaction: " + ex.getMessage());
+                }
+            }
+            System.err.println("Error " + action + ": " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        } finally {
+            DatabaseUtil.closeAll(conn, pstmt);
+        }
+    }
+
+    /**
+     * Diff the stored tag set against the task's tags and apply only the difference.
+     * Leaves task_tags untouched when the set is unchanged.
+     */
+    private void syncTags(Connection conn, Task task, Map<String, Integer> tagIds) throws SQLException {
+        Set<Integer> stored = new HashSet<>();
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try {
+            pstmt = conn.prepareStatement(SELECT_TAGS_FOR_TASK);
+            pstmt.setString(1, task.getId());
+            rs = pstmt.executeQuery();
+            while (rs.next()) {
+                stored.add(rs.getInt("tag_id"));
+            }
+        } finally {
+            DatabaseUtil.closeResultSet(rs);
+            DatabaseUtil.closeStatement(pstmt);
+        }
+        
+        Set<Integer> wanted = distinctTagIds(task, tagIds);
+        Set<Integer> toRemove = new HashSet<>(stored);
+        toRemove.removeAll(wanted);
+        Set<Integer> toAdd = new HashSet<>(wanted);
+        toAdd.removeAll(stored);
+        
+        if (!toRemove.isEmpty()) {
+            executeTagBatch(conn, DELETE_TASK_TAG, task.getId(), toRemove);
+        }
+        if (!toAdd.isEmpty()) {
+            executeTagBatch(conn, INSERT_TASK_TAG, task.getId(), toAdd);
+        }
+    }
+
+    /**
+     * Run a (task_id, tag_id) statement once per tag as a batch
+     */
+    private void executeTagBatch(Connection conn, String sql, String taskId, Set<Integer> tagIds) throws SQLException {
+        PreparedStatement pstmt = null;
+        try {
+            pstmt = conn.prepareStatement(sql);
+            for (int tagId : tagIds) {
+                pstmt.setString(1, taskId);
+                pstmt.setInt(2, tagId);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        } finally {
+            DatabaseUtil.closeStatement(pstmt);
+        }
+    }
+
+    /**
+     * Delete task
+     */
+    public boolean deleteTask(String id) {
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        
+        try {
+            conn = DatabaseConfig.getConnection();
+            conn.setAutoCommit(false);
+            DailyRollup.State before = DailyRollup.lockState(conn, id);
+            
+            // Delete tags first (foreign key constraint)
+            pstmt = conn.prepareStatement(DELETE_TASK_TAGS);
+            pstmt.setString(1, id);
+            pstmt.executeUpdate();
+            pstmt.close();
+            
+            // Delete task
+            pstmt = conn.prepareStatement(DELETE_TASK);
+            pstmt.setString(1, id);
+            int rowsAffected = pstmt.executeUpdate();
+            pstmt.close();
+            
+            // Leave a tombstone so getChangesSince reports the deletion
+            if (rowsAffected > 0) {
+                DailyRollup.recordChange(conn, LocalDate.now(), before, null);
+                Timestamp deletedAt = Timestamp.valueOf(LocalDateTime.now());
+                pstmt = conn.prepareStatement(UPDATE_TOMBSTONE);
+                pstmt.setTimestamp(1, deletedAt);
+                pstmt.setString(2, id);
+                if (pstmt.executeUpdate() == 0) {
+                    pstmt.close();
+                    pstmt = conn.prepareStatement(INSERT_TOMBSTONE);
+                    pstmt.setString(1, id);
+                    pstmt.setTimestamp(2, deletedAt);
+                    pstmt.executeUpdate();
+                }
+            }
+            
+            conn.commit();
+            return rowsAffected > 0;
+            
+        } catch (SQLException e) {
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    System.err.println("Error rolling back transaction: " + ex.getMessage());
+                }
+            }
+            System.err.println("Error deleting task: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        } finally {
+            DatabaseUtil.closeAll(conn, pstmt);
+        }
+    }
+
+    /**
+     * Search tasks
+     */
+    public List<Task> searchTasks(String searchTerm) {
+        List<Task> tasks = new ArrayList<>();
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        
+        try {
+            conn = DatabaseConfig.getConnection();
+            pstmt = conn.prepareStatement(SEARCH_TASKS);
+            String searchPattern = "%" + searchTerm + "%";
+            pstmt.setString(1, searchPattern);
+            pstmt.setString(2, searchPattern);
+            rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                tasks.add(mapResultSetToTask(rs));
+            }
+            loadTags(conn, tasks);
+            
+        } catch (SQLException e) {
+            System.err.println("Error searching tasks: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            DatabaseUtil.closeAll(conn, pstmt, rs);
+        }
+        
+        return tasks;
+    }
+
+    /**
+     * Ranked full-text search using the MySQL FULLTEXT index.
+     * Each query term matches as a prefix. Terms the index cannot handle
+     * (shorter than innodb_ft_min_token_size, or stopwords) fall back to LIKE.
+     */
+    public List<SearchResult> fullTextSearch(String searchTerm, int limit) {
+        List<String> terms = SearchTokenizer.tokenize(searchTerm);
+        List<SearchResult> results = new ArrayList<>();
+        if (terms.isEmpty() || limit <= 0) {
+            return results;
+        }
+        
+        StringBuilder booleanQuery = new StringBuilder();
+        for (String term : terms) {
+            booleanQuery.append(booleanQuery.length() == 0 ? "" : " ").append(term).append('*');
+        }
+        
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        
+        try {
+            conn = DatabaseConfig.getConnection();
+            pstmt = conn.prepareStatement(FULLTEXT_SEARCH_TASKS);
+            pstmt.setString(1, booleanQuery.toString());
+            pstmt.setString(2, booleanQuery.toString());
+            pstmt.setInt(3, limit);
+            rs = pstmt.executeQuery();
+            
+            List<Task> tasks = new ArrayList<>();
+            List<Double> scores = new ArrayList<>();
+            while (rs.next()) {
+                tasks.add(mapResultSetToTask(rs));
+                scores.add(rs.getDouble("relevance"));
+            }
+            DatabaseUtil.closeResultSet(rs);
+            DatabaseUtil.closeStatement(pstmt);
+            
+            if (tasks.isEmpty()) {
+                pstmt = conn.prepareStatement(SEARCH_TASKS_LIMITED);
+                String searchPattern = "%" + searchTerm + "%";
+                pstmt.setString(1, searchPattern);
+                pstmt.setString(2, searchPattern);
+                pstmt.setInt(3, limit);
+                rs = pstmt.executeQuery();
+                while (rs.next()) {
+                    tasks.add(mapResultSetToTask(rs));
+                    scores.add(0.0);
+                }
+            }
+            loadTags(conn, tasks);
+            
+            for (int i = 0; i < tasks.size(); i++) {
+                Task task = tasks.get(i);
+                Set<String> matchedFields = new LinkedHashSet<>();
+                if (SearchTokenizer.matchesAny(task.getTitle(), terms)) {
+                    matchedFields.add(SearchResult.FIELD_TITLE);
+                }
+                if (SearchTokenizer.matchesAny(task.getDescription(), terms)) {
+                    matchedFields.add(SearchResult.FIELD_DESCRIPTION);
+                }
+                results.add(new SearchResult(task, scores.get(i), matchedFields));
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error searching tasks: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            DatabaseUtil.closeAll(conn, pstmt, rs);
+        }
+        
+        return results;
+    }
+
+    /**
+     * Get several tasks by id with batched IN queries (order not preserved)
+     */
+    public List<Task> getTasksByIds(Collection<String> ids) {
+        List<Task> tasks = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return tasks;
+        }
+        List<String> idList = new ArrayList<>(ids);
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        
+        try {
+            conn = DatabaseConfig.getConnection();
+            for (int start = 0; start < idList.size(); start += TAG_FETCH_CHUNK) {
+                List<String> chunk = idList.subList(start, Math.min(start + TAG_FETCH_CHUNK, idList.size()));
+                int slots = roundUpToPowerOfTwo(chunk.size());
+                pstmt = conn.prepareStatement("SELECT t.* FROM tasks t WHERE t.id IN (" + placeholders(slots) + ")");
+                for (int i = 0; i < slots; i++) {
+                    pstmt.setString(i + 1, chunk.get(Math.min(i, chunk.size() - 1)));
+                }
+                rs = pstmt.executeQuery();
+                while (rs.next()) {
+                    tasks.add(mapResultSetToTask(rs));
+                }
+                DatabaseUtil.closeResultSet(rs);
+                DatabaseUtil.closeStatement(pstmt);
+            }
+            loadTags(conn, tasks);
+            
+        } catch (SQLException e) {
+            System.err.println("Error retrieving tasks: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            DatabaseUtil.closeAll(conn, pstmt, rs);
+        }
+        
+        return tasks;
+    }
+
+    /**
+     * Filter by priority
+     */
+    public List<Task> filterByPriority(Priority priority) {
+        List<Task> tasks = new ArrayList<>();
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        
+        try {
+            conn = DatabaseConfig.getConnection();
+            pstmt = conn.prepareStatement(SELECT_TASKS_BY_PRIORITY);
+            pstmt.setString(1, label(priority));
+            rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                tasks.add(mapResultSetToTask(rs));
+            }
+            loadTags(conn, tasks);
             
         } catch (SQLException e) {
             System.err.println("Error filtering by priority: " + e.getMessage());
@@ -393,6 +1362,7 @@ public class TaskDAO {
             while (rs.next()) {
                 tasks.add(mapResultSetToTask(rs));
             }
+            loadTags(conn, tasks);
             
         } catch (SQLException e) {
             System.err.println("Error filtering by tag: " + e.getMessage());
@@ -422,6 +1392,7 @@ public class TaskDAO {
             while (rs.next()) {
                 tasks.add(mapResultSetToTask(rs));
             }
+            loadTags(conn, tasks);
             
         } catch (SQLException e) {
             System.err.println("Error filtering by assigned user: " + e.getMessage());
@@ -434,29 +1405,486 @@ public class TaskDAO {
     }
 
     /**
-     * Map ResultSet to Task object
+     * Get one page of all tasks, newest first
+     * @param pageToken token from the previous page, or null for the first page
+     */
+    public TaskPage getTasksPage(String pageToken, int pageSize) {
+        return queryPage(null, null, pageToken, pageSize);
+    }
+
+    /**
+     * Get one page of tasks by status
+     */
+    public TaskPage getTasksByStatusPage(Status status, String pageToken, int pageSize) {
+        return queryPage(FILTER_STATUS, label(status), pageToken, pageSize);
+    }
+
+    /**
+     * Get one page of tasks by priority
+     */
+    public TaskPage filterByPriorityPage(Priority priority, String pageToken, int pageSize) {
+        return queryPage(FILTER_PRIORITY, label(priority), pageToken, pageSize);
+    }
+
+    /**
+     * Get one page of tasks by tag
+     */
+    public TaskPage filterByTagPage(String tag, String pageToken, int pageSize) {
+        return queryPage(FILTER_TAG, tag, pageToken, pageSize);
+    }
+
+    /**
+     * Get one page of tasks by assigned user
+     */
+    public TaskPage filterByAssignedUserPage(String user, String pageToken, int pageSize) {
+        return queryPage(FILTER_ASSIGNED, user, pageToken, pageSize);
+    }
+
+    /**
+     * Run a keyset-paginated query with an optional single-value filter
+     */
+    private TaskPage queryPage(String filter, String filterValue, String pageToken, int pageSize) {
+        int limit = Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+        Object[] cursor = null;
+        if (pageToken != null && !pageToken.isEmpty()) {
+            cursor = decodePageToken(pageToken);
+            if (cursor == null) {
+                System.err.println("Error retrieving tasks page: invalid page token");
+                return TaskPage.empty();
+            }
+        }
+        
+        String sql = PAGE_SELECT + (filter != null ? filter : "") + (cursor != null ? PAGE_SEEK : "") + PAGE_ORDER;
+        List<Task> tasks = new ArrayList<>();
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        
+        try {
+            conn = DatabaseConfig.getConnection();
+            pstmt = conn.prepareStatement(sql);
+            int index = 1;
+            if (filter != null) {
+                pstmt.setString(index++, filterValue);
+            }
+            if (cursor != null) {
+                pstmt.setTimestamp(index++, (Timestamp) cursor[0]);
+                pstmt.setTimestamp(index++, (Timestamp) cursor[0]);
+                pstmt.setString(index++, (String) cursor[1]);
+            }
+            // Fetch one extra row to know whether another page follows
+            pstmt.setInt(index, limit + 1);
+            rs = pstmt.executeQuery();
+            
+            Timestamp lastCreatedAt = null;
+            String nextPageToken = null;
+            while (rs.next()) {
+                if (tasks.size() == limit) {
+                    Task last = tasks.get(tasks.size() - 1);
+                    nextPageToken = encodePageToken(lastCreatedAt, last.getId());
+                    break;
+                }
+                lastCreatedAt = rs.getTimestamp("created_at");
+                tasks.add(mapResultSetToTask(rs));
+            }
+            DatabaseUtil.closeResultSet(rs);
+            loadTags(conn, tasks);
+            return new TaskPage(tasks, nextPageToken);
+            
+        } catch (SQLException e) {
+            System.err.println("Error retrieving tasks page: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            DatabaseUtil.closeAll(conn, pstmt, rs);
+        }
+        
+        return TaskPage.empty();
+    }
+
+    /**
+     * Encode the (created_at, id) cursor of the last row as an opaque token
+     */
+    private static String encodePageToken(Timestamp createdAt, String id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a page token into {Timestamp createdAt, String id}, or null if malformed
+     */
+    private static Object[] decodePageToken(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator <= 0) {
+                return null;
+            }
+            return new Object[] { Timestamp.valueOf(raw.substring(0, separator)), raw.substring(separator + 1) };
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Push every task to the consumer while the result set is still open,
+     * so callers scanning the whole table run in constant memory
+     * @return true if the whole table was read
+     */
+    public boolean forEachTask(Consumer<Task> consumer) {
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        
+        try {
+            conn = DatabaseConfig.getConnection();
+            pstmt = prepareStreaming(conn, SELECT_ALL_TASKS);
+            rs = pstmt.executeQuery();
+            
+            // Buffer a chunk, load its tags on a second connection (a streaming
+            // result set keeps this one busy), then hand the chunk on
+            List<Task> chunk = new ArrayList<>(TAG_FETCH_CHUNK);
+            while (rs.next()) {
+                chunk.add(mapResultSetToTask(rs));
+                if (chunk.size() == TAG_FETCH_CHUNK) {
+                    flushChunk(chunk, consumer);
+                }
+            }
+            flushChunk(chunk, consumer);
+            return true;
+            
+        } catch (SQLException e) {
+            System.err.println("Error streaming tasks: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        } finally {
+            DatabaseUtil.closeAll(conn, pstmt, rs);
+        }
+    }
+
+    /**
+     * Load title, status and logged hours of tasks with time logged in [from, to); each row's
+     * time spent is the hours logged in that range, not the task's total
+     * @return the snapshot, or null on error
+     */
+    public TaskColumns loadLoggedTimeByTask(LocalDateTime from, LocalDateTime to) {
+        return loadTaskColumns(SELECT_LOGGED_TIME_BY_TASK, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    private TaskColumns loadTaskColumns(String sql, Object... params) {
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        
+        try {
+            conn = DatabaseConfig.getConnection();
+            pstmt = prepareStreaming(conn, sql);
+            for (int i = 0; i < params.length; i++) {
+                pstmt.setObject(i + 1, params[i]);
+            }
+            rs = pstmt.executeQuery();
+            
+            TaskColumns.Builder builder = new TaskColumns.Builder();
+            while (rs.next()) {
+                builder.add(rs.getString("title"),
+                        Status.fromLabel(rs.getString("status")),
+                        rs.getFloat("time_spent"));
+            }
+            return builder.build();
+            
+        } catch (SQLException e) {
+            System.err.println("Error loading task columns: " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        } finally {
+            DatabaseUtil.closeAll(conn, pstmt, rs);
+        }
+    }
+
+    /**
+     * Task count and summed time spent per status over the whole table, from the daily rollup
+     * @return totals by status (statuses without tasks may be absent), or null on error
+     */
+    public Map<Status, TimeTotals> sumTimeByStatus() {
+        return sumTimeByStatus(SUM_TIME_BY_STATUS);
+    }
+
+    /**
+     * Hours logged in [from, to) per current status of the task, with the number of tasks worked on
+     * @return totals by status (statuses without logged time are absent), or null on error
+     */
+    public Map<Status, TimeTotals> sumLoggedTimeByStatus(LocalDateTime from, LocalDateTime to) {
+        return sumTimeByStatus(SUM_LOGGED_TIME_BY_STATUS, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    private Map<Status, TimeTotals> sumTimeByStatus(String sql, Object... params) {
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        
+        try {
+            conn = DatabaseConfig.getConnection();
+            pstmt = conn.prepareStatement(sql);
+            for (int i = 0; i < params.length; i++) {
+                pstmt.setObject(i + 1, params[i]);
+            }
+            rs = pstmt.executeQuery();
+            
+            Map<Status, TimeTotals> totals = new EnumMap<>(Status.class);
+            while (rs.next()) {
+                Status status = Status.fromLabel(rs.getString("status"));
+                if (status != null) {
+                    totals.put(status, new TimeTotals(rs.getLong("task_count"), roundHours(rs.getDouble("total_time"))));
+                }
+            }
+            return totals;
+            
+        } catch (SQLException e) {
+            System.err.println("Error summing time by status: " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        } finally {
+            DatabaseUtil.closeAll(conn, pstmt, rs);
+        }
+    }
+
+    /**
+     * Daily rollup totals per day from one date to another, inclusive: task count changed
+     * that day, hours logged that day and tasks moved to Done that day
+     * @return totals by day in date order (days without changes are absent), or null on error
+     */
+    public Map<LocalDate, TimeTotals> sumRollupByDay(LocalDate from, LocalDate to) {
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        
+        try {
+            conn = DatabaseConfig.getConnection();
+            pstmt = conn.prepareStatement(SUM_ROLLUP_BY_DAY);
+            pstmt.setDate(1, Date.valueOf(from));
+            pstmt.setDate(2, Date.valueOf(to));
+            rs = pstmt.executeQuery();
+            
+            Map<LocalDate, TimeTotals> totals = new TreeMap<>();
+            while (rs.next()) {
+                totals.put(rs.getDate("rollup_day").toLocalDate(), new TimeTotals(rs.getLong("task_count"),
+                        roundHours(rs.getDouble("total_time")), rs.getLong("completions")));
+            }
+            return totals;
+            
+        } catch (SQLException e) {
+            System.err.println("Error summing daily rollup: " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        } finally {
+            DatabaseUtil.closeAll(conn, pstmt, rs);
+        }
+    }
+
+    // Running +/- sums of float hours leave residue like -1e-9; drop it
+    private static double roundHours(double hours) {
+        return Math.round(hours * 1e6) / 1e6;
+    }
+
+    /**
+     * Stream all tasks row by row. The stream holds a database connection
+     * until closed, so always use it in try-with-resources.
+     */
+    public Stream<Task> streamAllTasks() {
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        
+        try {
+            conn = DatabaseConfig.getConnection();
+            pstmt = prepareStreaming(conn, SELECT_ALL_TASKS);
+            rs = pstmt.executeQuery();
+        } catch (SQLException e) {
+            System.err.println("Error streaming tasks: " + e.getMessage());
+            e.printStackTrace();
+            DatabaseUtil.closeAll(conn, pstmt, rs);
+            return Stream.empty();
+        }
+        
+        final Connection streamConn = conn;
+        final PreparedStatement streamStmt = pstmt;
+        final ResultSet streamRs = rs;
+        Spliterator<Task> rows = new Spliterators.AbstractSpliterator<Task>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private final Deque<Task> buffer = new ArrayDeque<>(TAG_FETCH_CHUNK);
+            private boolean exhausted;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Task> action) {
+                if (buffer.isEmpty() && !exhausted) {
+                    fill();
+                }
+                Task next = buffer.pollFirst();
+                if (next == null) {
+                    return false;
+                }
+                action.accept(next);
+                return true;
+            }
+
+            private void fill() {
+                List<Task> chunk = new ArrayList<>(TAG_FETCH_CHUNK);
+                try {
+                    while (chunk.size() < TAG_FETCH_CHUNK && streamRs.next()) {
+                        chunk.add(mapResultSetToTask(streamRs));
+                    }
+                    exhausted = chunk.size() < TAG_FETCH_CHUNK;
+                } catch (SQLException e) {
+                    System.err.println("Error streaming tasks: " + e.getMessage());
+                    exhausted = true;
+                }
+                flushChunk(chunk, buffer::addLast);
+            }
+        };
+        return StreamSupport.stream(rows, false)
+                .onClose(() -> DatabaseUtil.closeAll(streamConn, streamStmt, streamRs));
+    }
+
+    /**
+     * Load tags for a chunk on a separate connection, pass the tasks on and clear the chunk
+     */
+    private void flushChunk(List<Task> chunk, Consumer<? super Task> consumer) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Connection tagConn = null;
+        try {
+            tagConn = DatabaseConfig.getConnection();
+            loadTags(tagConn, chunk);
+        } catch (SQLException e) {
+            System.err.println("Error loading tags: " + e.getMessage());
+        } finally {
+            DatabaseUtil.closeConnection(tagConn);
+        }
+        chunk.forEach(consumer);
+        chunk.clear();
+    }
+
+    /**
+     * Second phase of every read: fetch the tags of the given tasks with batched
+     * IN queries and merge them into the tasks by id
+     */
+    private void loadTags(Connection conn, List<Task> tasks) throws SQLException {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        Map<String, Task> byId = indexById(tasks);
+        List<String> ids = new ArrayList<>(byId.keySet());
+        
+        for (int start = 0; start < ids.size(); start += TAG_FETCH_CHUNK) {
+            List<String> chunk = ids.subList(start, Math.min(start + TAG_FETCH_CHUNK, ids.size()));
+            int slots = roundUpToPowerOfTwo(chunk.size());
+            
+            PreparedStatement pstmt = null;
+            ResultSet rs = null;
+            try {
+                pstmt = conn.prepareStatement(
+                        "SELECT task_id, tag_id FROM task_tags WHERE task_id IN (" + placeholders(slots) + ")");
+                for (int i = 0; i < slots; i++) {
+                    // Pad with the last id; duplicates in IN are harmless
+                    pstmt.setString(i + 1, chunk.get(Math.min(i, chunk.size() - 1)));
+                }
+                rs = pstmt.executeQuery();
+                mergeTags(conn, rs, byId);
+            } finally {
+                DatabaseUtil.closeResultSet(rs);
+                DatabaseUtil.closeStatement(pstmt);
+            }
+        }
+    }
+
+    /**
+     * Second phase for whole-table reads: one scan of task_tags is cheaper
+     * than probing it with every id
+     */
+    private void loadAllTags(Connection conn, List<Task> tasks) throws SQLException {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try {
+            pstmt = conn.prepareStatement(SELECT_ALL_TAGS);
+            rs = pstmt.executeQuery();
+            mergeTags(conn, rs, indexById(tasks));
+        } finally {
+            DatabaseUtil.closeResultSet(rs);
+            DatabaseUtil.closeStatement(pstmt);
+        }
+    }
+
+    /**
+     * Round an IN-list size up to a power of two so only a few distinct SQL
+     * strings exist and the statement cache stays warm
+     */
+    private static int roundUpToPowerOfTwo(int n) {
+        int slots = Integer.highestOneBit(n);
+        return slots < n ? slots << 1 : slots;
+    }
+
+    /**
+     * "?, ?, ..." with n placeholders
+     */
+    private static String placeholders(int n) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            sb.append(i == 0 ? "?" : ", ?");
+        }
+        return sb.toString();
+    }
+
+    private static Map<String, Task> indexById(List<Task> tasks) {
+        Map<String, Task> byId = new HashMap<>(tasks.size() * 2);
+        for (Task task : tasks) {
+            byId.put(task.getId(), task);
+        }
+        return byId;
+    }
+
+    /**
+     * Append each (task_id, tag_id) row to the matching task as the shared tag name
+     */
+    private static void mergeTags(Connection conn, ResultSet rs, Map<String, Task> byId) throws SQLException {
+        while (rs.next()) {
+            Task task = byId.get(rs.getString("task_id"));
+            if (task != null) {
+                String tag = TagDictionary.name(conn, rs.getInt("tag_id"));
+                if (tag != null) {
+                    task.getTags().add(tag);
+                }
+            }
+        }
+    }
+
+    /**
+     * Prepare a forward-only, read-only statement with the streaming fetch size.
+     * Not taken from the statement cache, so the fetch size never leaks to other queries.
+     */
+    private PreparedStatement prepareStreaming(Connection conn, String sql) throws SQLException {
+        PreparedStatement pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        pstmt.setFetchSize(DatabaseConfig.getStreamFetchSize());
+        return pstmt;
+    }
+
+    /**
+     * Map ResultSet to Task object (tags are filled in by loadTags)
      */
     private Task mapResultSetToTask(ResultSet rs) throws SQLException {
         Task task = new Task();
         task.setId(rs.getString("id"));
         task.setTitle(rs.getString("title"));
         task.setDescription(rs.getString("description"));
-        task.setStatus(rs.getString("status"));
-        task.setPriority(rs.getString("priority"));
+        task.setStatus(Status.fromLabel(rs.getString("status")));
+        task.setPriority(Priority.fromLabel(rs.getString("priority")));
         task.setTimeSpent(rs.getFloat("time_spent"));
-        task.setStartTime(rs.getString("start_time"));
-        task.setEndTime(rs.getString("end_time"));
+        task.setStartTime(localDateTime(rs, "start_time"));
+        task.setEndTime(localDateTime(rs, "end_time"));
         task.setAssignedTo(rs.getString("assigned_to"));
         
-        // Parse tags from GROUP_CONCAT result
-        String tagsStr = rs.getString("tags");
-        if (tagsStr != null && !tagsStr.isEmpty()) {
-            String[] tags = tagsStr.split(",");
-            for (String tag : tags) {
-                task.addTag(tag.trim());
-            }
-        }
-        
         // Parse timestamps
         Timestamp createdAt = rs.getTimestamp("created_at");
         Timestamp updatedAt = rs.getTimestamp("updated_at");
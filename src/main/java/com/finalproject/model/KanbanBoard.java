@@ -1,85 +1,230 @@
 package com.finalproject.model;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
- * Kanban Board model containing tasks organized by status
+ * Kanban Board model containing tasks organized by status.
+ * Tasks are held in a map by id with per-status buckets and secondary
+ * indexes for priority, tag and assignee, so lookups and filters cost
+ * O(1) or O(result) instead of a scan of the whole board.
+ * Per-status counts and time totals are kept as running aggregates.
  */
 public class KanbanBoard {
-    private List<Task> tasks;
+    // id -> indexed task, in insertion order
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final Map<Status, Map<String, Task>> byStatus = new EnumMap<>(Status.class);
+    private final Map<Priority, Map<String, Task>> byPriority = new EnumMap<>(Priority.class);
+    private final Map<String, Map<String, Task>> byTag = new HashMap<>();
+    private final Map<String, Map<String, Task>> byAssignee = new HashMap<>();
+    private final Map<Status, StatusTotals> totalsByStatus = new EnumMap<>(Status.class);
+    private double totalTimeSpent;
+
+    /**
+     * Running count and summed time spent for one status
+     */
+    private static final class StatusTotals {
+        private int count;
+        private double timeSpent;
+    }
+
+    /**
+     * A task together with the keys it is currently indexed under, so it can be
+     * unindexed correctly even after its fields were changed directly
+     */
+    private static final class Entry {
+        private final Task task;
+        private final Status status;
+        private final Priority priority;
+        private final String assignee;
+        private final Set<String> tags;
+        private final float timeSpent;
+
+        private Entry(Task task) {
+            this.task = task;
+            // EnumMap keys cannot be null; index incomplete tasks under the defaults
+            this.status = task.getStatus() != null ? task.getStatus() : Status.TODO;
+            this.priority = task.getPriority() != null ? task.getPriority() : Priority.MEDIUM;
+            this.assignee = task.getAssignedTo();
+            this.tags = task.getTags() != null ? new LinkedHashSet<>(task.getTags()) : new LinkedHashSet<>();
+            this.timeSpent = task.getTimeSpent();
+        }
+    }
 
     public KanbanBoard() {
-        this.tasks = new ArrayList<>();
+        for (Status status : Status.values()) {
+            byStatus.put(status, new LinkedHashMap<>());
+        }
     }
 
     public KanbanBoard(List<Task> tasks) {
-        this.tasks = tasks != null ? tasks : new ArrayList<>();
+        this();
+        setTasks(tasks);
     }
 
     // Get all tasks
     public List<Task> getAllTasks() {
-        return new ArrayList<>(tasks);
+        List<Task> tasks = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            tasks.add(entry.task);
+        }
+        return tasks;
     }
 
     // Get tasks by status
-    public List<Task> getTasksByStatus(String status) {
-        return tasks.stream()
-                .filter(task -> task.getStatus().equals(status))
-                .collect(Collectors.toList());
+    public List<Task> getTasksByStatus(Status status) {
+        return values(byStatus, status);
     }
 
     // Get To-Do tasks
     public List<Task> getTodoTasks() {
-        return getTasksByStatus(Task.STATUS_TODO);
+        return getTasksByStatus(Status.TODO);
     }
 
     // Get In-Progress tasks
     public List<Task> getInProgressTasks() {
-        return getTasksByStatus(Task.STATUS_IN_PROGRESS);
+        return getTasksByStatus(Status.IN_PROGRESS);
     }
 
     // Get Done tasks
     public List<Task> getDoneTasks() {
-        return getTasksByStatus(Task.STATUS_DONE);
+        return getTasksByStatus(Status.DONE);
     }
 
-    // Add task
+    // Add task (a task with the same id replaces the existing one)
     public void addTask(Task task) {
-        if (task != null && !tasks.contains(task)) {
-            tasks.add(task);
+        if (task == null) {
+            return;
+        }
+        Entry previous = entries.remove(task.getId());
+        if (previous != null) {
+            unindex(previous);
         }
+        Entry entry = new Entry(task);
+        entries.put(task.getId(), entry);
+        index(entry);
     }
 
     // Remove task
     public boolean removeTask(String taskId) {
-        return tasks.removeIf(task -> task.getId().equals(taskId));
+        Entry entry = entries.remove(taskId);
+        if (entry == null) {
+            return false;
+        }
+        unindex(entry);
+        return true;
     }
 
     // Get task by ID
     public Task getTaskById(String taskId) {
-        return tasks.stream()
-                .filter(task -> task.getId().equals(taskId))
-                .findFirst()
-                .orElse(null);
+        Entry entry = entries.get(taskId);
+        return entry != null ? entry.task : null;
     }
 
     // Move task to different status
-    public boolean moveTask(String taskId, String newStatus) {
+    public boolean moveTask(String taskId, Status newStatus) {
         Task task = getTaskById(taskId);
         if (task != null) {
             task.moveToStatus(newStatus);
+            reindex(taskId);
+            return true;
+        }
+        return false;
+    }
+
+    // Start a task's timer (moves it to In-Progress)
+    public boolean startTimer(String taskId) {
+        Task task = getTaskById(taskId);
+        if (task != null) {
+            task.startTimer();
+            reindex(taskId);
+            return true;
+        }
+        return false;
+    }
+
+    // Stop a task's timer and add the elapsed time to the totals
+    public boolean stopTimer(String taskId) {
+        Task task = getTaskById(taskId);
+        if (task != null) {
+            task.stopTimer();
+            reindex(taskId);
+            return true;
+        }
+        return false;
+    }
+
+    // Pause a task's timer
+    public boolean pauseTimer(String taskId) {
+        Task task = getTaskById(taskId);
+        if (task != null) {
+            task.pauseTimer();
+            reindex(taskId);
+            return true;
+        }
+        return false;
+    }
+
+    // Add a tag to a task and index it
+    public boolean addTagToTask(String taskId, String tag) {
+        Task task = getTaskById(taskId);
+        if (task != null) {
+            task.addTag(tag);
+            reindex(taskId);
+            return true;
+        }
+        return false;
+    }
+
+    // Remove a tag from a task
+    public boolean removeTagFromTask(String taskId, String tag) {
+        Task task = getTaskById(taskId);
+        if (task != null) {
+            task.removeTag(tag);
+            reindex(taskId);
+            return true;
+        }
+        return false;
+    }
+
+    // Assign a task to a user
+    public boolean assignTask(String taskId, String user) {
+        Task task = getTaskById(taskId);
+        if (task != null) {
+            task.setAssignedTo(user);
+            reindex(taskId);
             return true;
         }
         return false;
     }
 
+    /**
+     * Refresh the indexes for a task whose fields were changed directly
+     */
+    public boolean reindex(String taskId) {
+        Entry entry = entries.get(taskId);
+        if (entry == null) {
+            return false;
+        }
+        unindex(entry);
+        Entry refreshed = new Entry(entry.task);
+        entries.put(taskId, refreshed);
+        index(refreshed);
+        return true;
+    }
+
     // Search tasks by title or description
     public List<Task> searchTasks(String searchTerm) {
         String lowerSearch = searchTerm.toLowerCase();
-        return tasks.stream()
-                .filter(task -> 
+        return getAllTasks().stream()
+                .filter(task ->
                     (task.getTitle() != null && task.getTitle().toLowerCase().contains(lowerSearch)) ||
                     (task.getDescription() != null && task.getDescription().toLowerCase().contains(lowerSearch))
                 )
@@ -87,50 +232,116 @@ public class KanbanBoard {
     }
 
     // Filter by priority
-    public List<Task> filterByPriority(String priority) {
-        return tasks.stream()
-                .filter(task -> task.getPriority().equals(priority))
-                .collect(Collectors.toList());
+    public List<Task> filterByPriority(Priority priority) {
+        return values(byPriority, priority);
     }
 
     // Filter by tag
     public List<Task> filterByTag(String tag) {
-        return tasks.stream()
-                .filter(task -> task.getTags().contains(tag))
-                .collect(Collectors.toList());
+        return values(byTag, tag);
     }
 
     // Filter by assigned user
     public List<Task> filterByAssignedUser(String user) {
-        return tasks.stream()
-                .filter(task -> task.getAssignedTo() != null && task.getAssignedTo().equals(user))
-                .collect(Collectors.toList());
+        if (user == null) {
+            return new ArrayList<>();
+        }
+        return values(byAssignee, user);
     }
 
     // Get total time spent across all tasks
     public float getTotalTimeSpent() {
-        return (float) tasks.stream()
-                .mapToDouble(Task::getTimeSpent)
-                .sum();
+        return (float) totalTimeSpent;
     }
 
     // Get total time spent for a specific status
-    public float getTotalTimeSpentByStatus(String status) {
-        return (float) tasks.stream()
-                .filter(task -> task.getStatus().equals(status))
-                .mapToDouble(Task::getTimeSpent)
-                .sum();
+    public float getTotalTimeSpentByStatus(Status status) {
+        StatusTotals totals = totalsByStatus.get(status);
+        return totals != null ? (float) totals.timeSpent : 0.0f;
     }
 
     // Get tasks count by status
-    public int getTaskCountByStatus(String status) {
-        return (int) tasks.stream()
-                .filter(task -> task.getStatus().equals(status))
-                .count();
+    public int getTaskCountByStatus(Status status) {
+        StatusTotals totals = totalsByStatus.get(status);
+        return totals != null ? totals.count : 0;
+    }
+
+    // Number of tasks on the board
+    public int size() {
+        return entries.size();
     }
 
     public void setTasks(List<Task> tasks) {
-        this.tasks = tasks != null ? tasks : new ArrayList<>();
+        entries.clear();
+        for (Map<String, Task> bucket : byStatus.values()) {
+            bucket.clear();
+        }
+        byPriority.clear();
+        byTag.clear();
+        byAssignee.clear();
+        totalsByStatus.clear();
+        totalTimeSpent = 0;
+        if (tasks != null) {
+            for (Task task : tasks) {
+                addTask(task);
+            }
+        }
+    }
+
+    private void index(Entry entry) {
+        String id = entry.task.getId();
+        byStatus.computeIfAbsent(entry.status, k -> new LinkedHashMap<>()).put(id, entry.task);
+        byPriority.computeIfAbsent(entry.priority, k -> new LinkedHashMap<>()).put(id, entry.task);
+        for (String tag : entry.tags) {
+            byTag.computeIfAbsent(tag, k -> new LinkedHashMap<>()).put(id, entry.task);
+        }
+        if (entry.assignee != null) {
+            byAssignee.computeIfAbsent(entry.assignee, k -> new LinkedHashMap<>()).put(id, entry.task);
+        }
+        StatusTotals totals = totalsByStatus.computeIfAbsent(entry.status, k -> new StatusTotals());
+        totals.count++;
+        totals.timeSpent += entry.timeSpent;
+        totalTimeSpent += entry.timeSpent;
+    }
+
+    private void unindex(Entry entry) {
+        String id = entry.task.getId();
+        // Status buckets stay allocated; the standard columns are always present
+        Map<String, Task> statusBucket = byStatus.get(entry.status);
+        if (statusBucket != null) {
+            statusBucket.remove(id);
+        }
+        removeFrom(byPriority, entry.priority, id);
+        for (String tag : entry.tags) {
+            removeFrom(byTag, tag, id);
+        }
+        if (entry.assignee != null) {
+            removeFrom(byAssignee, entry.assignee, id);
+        }
+        StatusTotals totals = totalsByStatus.get(entry.status);
+        if (totals != null) {
+            totals.count--;
+            totals.timeSpent -= entry.timeSpent;
+            if (totals.count == 0) {
+                // Drop accumulated rounding error along with the empty status
+                totalsByStatus.remove(entry.status);
+            }
+        }
+        totalTimeSpent = entries.isEmpty() ? 0 : totalTimeSpent - entry.timeSpent;
     }
-}
 
+    private static <K> void removeFrom(Map<K, Map<String, Task>> index, K key, String id) {
+        Map<String, Task> bucket = index.get(key);
+        if (bucket != null) {
+            bucket.remove(id);
+            if (bucket.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static <K> List<Task> values(Map<K, Map<String, Task>> index, K key) {
+        Map<String, Task> bucket = index.get(key);
+        return bucket != null ? new ArrayList<>(bucket.values()) : new ArrayList<>();
+    }
+}
@@ -0,0 +1,48 @@
+package com.finalproject.model;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Task priority. The label is what users, JSON files and the database see;
+ * the serialized names keep exported JSON unchanged.
+ */
+public enum Priority {
+    @SerializedName(value = "low", alternate = {"Low", "LOW"})
+    LOW("low"),
+    @SerializedName(value = "medium", alternate = {"Medium", "MEDIUM"})
+    MEDIUM("medium"),
+    @SerializedName(value = "high", alternate = {"High", "HIGH"})
+    HIGH("high");
+
+    private static final Priority[] VALUES = values();
+
+    private final String label;
+
+    Priority(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Parse a label, ignoring case
+     * @return the priority, or null if the label is unknown
+     */
+    public static Priority fromLabel(String label) {
+        if (label != null) {
+            for (Priority priority : VALUES) {
+                if (priority.label.equalsIgnoreCase(label.trim())) {
+                    return priority;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
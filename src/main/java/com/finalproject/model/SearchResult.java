@@ -0,0 +1,44 @@
+package com.finalproject.model;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * A task returned by full-text search, with its relevance and the fields that matched
+ */
+public class SearchResult {
+    public static final String FIELD_TITLE = "title";
+    public static final String FIELD_DESCRIPTION = "description";
+
+    private final Task task;
+    private final double score;
+    private final Set<String> matchedFields;
+
+    public SearchResult(Task task, double score, Set<String> matchedFields) {
+        this.task = task;
+        this.score = score;
+        this.matchedFields = matchedFields != null ? matchedFields : Collections.emptySet();
+    }
+
+    public Task getTask() {
+        return task;
+    }
+
+    // Higher is more relevant; only comparable within one search
+    public double getScore() {
+        return score;
+    }
+
+    public Set<String> getMatchedFields() {
+        return Collections.unmodifiableSet(matchedFields);
+    }
+
+    @Override
+    public String toString() {
+        return "SearchResult{" +
+                "task=" + (task != null ? task.getId() : null) +
+                ", score=" + String.format("%.3f", score) +
+                ", matchedFields=" + matchedFields +
+                '}';
+    }
+}
@@ -0,0 +1,48 @@
+package com.finalproject.model;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Kanban column of a task. The label is what users, JSON files and the
+ * database see; the serialized names keep exported JSON unchanged.
+ */
+public enum Status {
+    @SerializedName(value = "To-Do", alternate = {"TODO", "to-do"})
+    TODO("To-Do"),
+    @SerializedName(value = "In-Progress", alternate = {"IN_PROGRESS", "in-progress"})
+    IN_PROGRESS("In-Progress"),
+    @SerializedName(value = "Done", alternate = {"DONE", "done"})
+    DONE("Done");
+
+    private static final Status[] VALUES = values();
+
+    private final String label;
+
+    Status(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Parse a label, ignoring case
+     * @return the status, or null if the label is unknown
+     */
+    public static Status fromLabel(String label) {
+        if (label != null) {
+            for (Status status : VALUES) {
+                if (status.label.equalsIgnoreCase(label.trim())) {
+                    return status;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
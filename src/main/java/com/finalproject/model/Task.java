@@ -3,7 +3,6 @@ package com.finalproject.model;
 import com.finalproject.util.IdGenerator;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -14,39 +13,28 @@ public class Task {
     private String id;
     private String title;
     private String description;
-    private String status; // "To-Do", "In-Progress", "Done"
-    private String priority; // "low", "medium", "high"
+    private Status status;
+    private Priority priority;
     private float timeSpent; // total hours logged
-    private String startTime; // when timer started
-    private String endTime; // when timer stopped
+    private LocalDateTime startTime; // when the running timer started, null when stopped
+    private LocalDateTime endTime; // when the timer last stopped
     private List<String> tags;
     private String assignedTo; // team member (optional)
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
-    // Status constants
-    public static final String STATUS_TODO = "To-Do";
-    public static final String STATUS_IN_PROGRESS = "In-Progress";
-    public static final String STATUS_DONE = "Done";
-
-    // Priority constants
-    public static final String PRIORITY_LOW = "low";
-    public static final String PRIORITY_MEDIUM = "medium";
-    public static final String PRIORITY_HIGH = "high";
-
-    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     // Constructors
     public Task() {
         this.tags = new ArrayList<>();
         this.timeSpent = 0.0f;
-        this.status = STATUS_TODO;
-        this.priority = PRIORITY_MEDIUM;
+        this.status = Status.TODO;
+        this.priority = Priority.MEDIUM;
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
     }
 
-    public Task(String title, String description, String priority) {
+    public Task(String title, String description, Priority priority) {
         this();
         this.title = title;
         this.description = description;
@@ -54,8 +42,8 @@ public class Task {
         this.id = generateId();
     }
 
-    public Task(String id, String title, String description, String status, String priority,
-                float timeSpent, String startTime, String endTime, List<String> tags, String assignedTo) {
+    public Task(String id, String title, String description, Status status, Priority priority,
+                float timeSpent, LocalDateTime startTime, LocalDateTime endTime, List<String> tags, String assignedTo) {
         this.id = id;
         this.title = title;
         this.description = description;
@@ -77,40 +65,40 @@ public class Task {
 
     // Start timer
     public void startTimer() {
-        this.startTime = LocalDateTime.now().format(formatter);
-        this.status = STATUS_IN_PROGRESS;
-        this.updatedAt = LocalDateTime.now();
+        LocalDateTime now = LocalDateTime.now();
+        this.startTime = now;
+        this.endTime = null;
+        this.status = Status.IN_PROGRESS;
+        this.updatedAt = now;
     }
 
     // Stop timer and calculate time spent
     public void stopTimer() {
-        if (this.startTime != null && !this.startTime.isEmpty()) {
-            this.endTime = LocalDateTime.now().format(formatter);
-            
-            // Calculate time difference
-            LocalDateTime start = LocalDateTime.parse(this.startTime, formatter);
+        if (this.startTime != null) {
             LocalDateTime end = LocalDateTime.now();
             
-            long minutes = java.time.Duration.between(start, end).toMinutes();
+            // Calculate time difference
+            long minutes = java.time.Duration.between(this.startTime, end).toMinutes();
             float hours = minutes / 60.0f;
             
             this.timeSpent += hours;
+            this.endTime = end;
             this.startTime = null; // Reset timer
-            this.updatedAt = LocalDateTime.now();
+            this.updatedAt = end;
         }
     }
 
     // Pause timer (stop without moving to Done)
     public void pauseTimer() {
-        if (this.startTime != null && !this.startTime.isEmpty()) {
+        if (this.startTime != null) {
             stopTimer(); // Same logic as stop, but status might remain In-Progress
         }
     }
 
     // Move task to different status
-    public void moveToStatus(String newStatus) {
+    public void moveToStatus(Status newStatus) {
         // If timer is running and moving away from In-Progress, stop it
-        if (this.status.equals(STATUS_IN_PROGRESS) && this.startTime != null) {
+        if (this.status == Status.IN_PROGRESS && this.startTime != null) {
             pauseTimer();
         }
         this.status = newStatus;
@@ -119,7 +107,7 @@ public class Task {
 
     // Check if timer is currently running
     public boolean isTimerRunning() {
-        return this.startTime != null && !this.startTime.isEmpty() && this.endTime == null;
+        return this.startTime != null;
     }
 
     // Getters and Setters
@@ -149,20 +137,20 @@ public class Task {
         this.updatedAt = LocalDateTime.now();
     }
 
-    public String getStatus() {
+    public Status getStatus() {
         return status;
     }
 
-    public void setStatus(String status) {
+    public void setStatus(Status status) {
         this.status = status;
         this.updatedAt = LocalDateTime.now();
     }
 
-    public String getPriority() {
+    public Priority getPriority() {
         return priority;
     }
 
-    public void setPriority(String priority) {
+    public void setPriority(Priority priority) {
         this.priority = priority;
         this.updatedAt = LocalDateTime.now();
     }
@@ -175,19 +163,19 @@ public class Task {
         this.timeSpent = timeSpent;
     }
 
-    public String getStartTime() {
+    public LocalDateTime getStartTime() {
         return startTime;
     }
 
-    public void setStartTime(String startTime) {
+    public void setStartTime(LocalDateTime startTime) {
         this.startTime = startTime;
     }
 
-    public String getEndTime() {
+    public LocalDateTime getEndTime() {
         return endTime;
     }
 
-    public void setEndTime(String endTime) {
+    public void setEndTime(LocalDateTime endTime) {
         this.endTime = endTime;
     }
 
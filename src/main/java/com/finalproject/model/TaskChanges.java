@@ -0,0 +1,37 @@
+package com.finalproject.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tasks created, updated or deleted since a watermark, for resyncing a local copy of the board
+ */
+public class TaskChanges {
+    private final List<Task> updated;
+    private final List<String> deletedIds;
+    private final LocalDateTime watermark; // pass back as "since" on the next call
+
+    public TaskChanges(List<Task> updated, List<String> deletedIds, LocalDateTime watermark) {
+        this.updated = updated != null ? updated : new ArrayList<>();
+        this.deletedIds = deletedIds != null ? deletedIds : new ArrayList<>();
+        this.watermark = watermark;
+    }
+
+    // Created or updated tasks, oldest change first
+    public List<Task> getUpdated() {
+        return updated;
+    }
+
+    public List<String> getDeletedIds() {
+        return deletedIds;
+    }
+
+    public LocalDateTime getWatermark() {
+        return watermark;
+    }
+
+    public boolean isEmpty() {
+        return updated.isEmpty() && deletedIds.isEmpty();
+    }
+}
@@ -0,0 +1,77 @@
+package com.finalproject.model;
+
+import java.util.Arrays;
+
+/**
+ * Read-only columnar snapshot of task rows for reporting.
+ * Each task is one row index into parallel arrays holding only the
+ * title, status and time spent that the report listings print.
+ */
+public class TaskColumns {
+    private static final Status[] STATUSES = Status.values();
+
+    private final int size;
+    private final float[] timeSpent;
+    private final byte[] status;
+    private final String[] title;
+
+    private TaskColumns(Builder builder) {
+        this.size = builder.size;
+        this.timeSpent = Arrays.copyOf(builder.timeSpent, size);
+        this.status = Arrays.copyOf(builder.status, size);
+        this.title = Arrays.copyOf(builder.title, size);
+    }
+
+    public static TaskColumns empty() {
+        return new Builder().build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public float getTimeSpent(int row) {
+        return timeSpent[row];
+    }
+
+    public Status getStatus(int row) {
+        return STATUSES[status[row]];
+    }
+
+    public String getTitle(int row) {
+        return title[row];
+    }
+
+    /**
+     * Appends rows into growable arrays; build() trims them to size
+     */
+    public static class Builder {
+        private int size;
+        private float[] timeSpent = new float[64];
+        private byte[] status = new byte[64];
+        private String[] title = new String[64];
+
+        public Builder add(String taskTitle, Status taskStatus, float taskTimeSpent) {
+            if (size == timeSpent.length) {
+                grow();
+            }
+            // Same default as the board for incomplete rows
+            status[size] = (byte) (taskStatus != null ? taskStatus : Status.TODO).ordinal();
+            timeSpent[size] = taskTimeSpent;
+            title[size] = taskTitle;
+            size++;
+            return this;
+        }
+
+        public TaskColumns build() {
+            return new TaskColumns(this);
+        }
+
+        private void grow() {
+            int capacity = timeSpent.length * 2;
+            timeSpent = Arrays.copyOf(timeSpent, capacity);
+            status = Arrays.copyOf(status, capacity);
+            title = Arrays.copyOf(title, capacity);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.finalproject.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of tasks from a keyset-paginated query
+ */
+public class TaskPage {
+    private final List<Task> tasks;
+    private final String nextPageToken; // null when this is the last page
+
+    public TaskPage(List<Task> tasks, String nextPageToken) {
+        this.tasks = tasks != null ? tasks : new ArrayList<>();
+        this.nextPageToken = nextPageToken;
+    }
+
+    public static TaskPage empty() {
+        return new TaskPage(new ArrayList<>(), null);
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    // Pass this back to fetch the following page
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    public boolean hasMore() {
+        return nextPageToken != null;
+    }
+
+    public int size() {
+        return tasks.size();
+    }
+
+    public boolean isEmpty() {
+        return tasks.isEmpty();
+    }
+}
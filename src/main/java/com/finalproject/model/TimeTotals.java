@@ -0,0 +1,42 @@
+package com.finalproject.model;
+
+/**
+ * Task count, summed time spent and (for daily rollups) completions for one
+ * group of an aggregate query
+ */
+public class TimeTotals {
+    private final long taskCount;
+    private final double timeSpent; // hours
+    private final long completions; // tasks moved to Done
+
+    public TimeTotals(long taskCount, double timeSpent) {
+        this(taskCount, timeSpent, 0);
+    }
+
+    public TimeTotals(long taskCount, double timeSpent, long completions) {
+        this.taskCount = taskCount;
+        this.timeSpent = timeSpent;
+        this.completions = completions;
+    }
+
+    public static TimeTotals empty() {
+        return new TimeTotals(0, 0.0);
+    }
+
+    public long getTaskCount() {
+        return taskCount;
+    }
+
+    public double getTimeSpent() {
+        return timeSpent;
+    }
+
+    public long getCompletions() {
+        return completions;
+    }
+
+    @Override
+    public String toString() {
+        return "TimeTotals{taskCount=" + taskCount + ", timeSpent=" + timeSpent + ", completions=" + completions + '}';
+    }
+}
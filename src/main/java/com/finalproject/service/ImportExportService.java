@@ -1,18 +1,27 @@
 package com.finalproject.service;
 
+import com.finalproject.dao.BulkInsertResult;
+import com.finalproject.model.Priority;
+import com.finalproject.model.Status;
 import com.finalproject.model.Task;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service for importing and exporting tasks to/from JSON files
@@ -20,6 +29,7 @@ import java.util.List;
 public class ImportExportService {
     private TaskService taskService;
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int MAX_REPORTED_SKIPS = 20;
     
     // Custom TypeAdapter for LocalDateTime (same as JsonFileManager)
     private static final com.google.gson.TypeAdapter<LocalDateTime> localDateTimeAdapter = 
@@ -57,27 +67,58 @@ public class ImportExportService {
     }
 
     /**
-     * Export all tasks to JSON file
+     * Export all tasks to JSON file, streaming rows straight from the database to disk
      */
     public boolean exportToJson(String filePath) {
-        try {
-            List<Task> allTasks = taskService.getAllTasks();
-            
-            if (allTasks.isEmpty()) {
+        Path path = Paths.get(filePath);
+        Path tempPath = Paths.get(filePath + ".tmp");
+        AtomicInteger exported = new AtomicInteger();
+        boolean complete;
+        
+        try (BufferedWriter out = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8);
+             JsonWriter writer = gson.newJsonWriter(out)) {
+            writer.beginArray();
+            complete = taskService.forEachTask(task -> {
+                gson.toJson(task, Task.class, writer);
+                exported.incrementAndGet();
+            });
+            writer.endArray();
+        } catch (IOException | com.google.gson.JsonIOException e) {
+            System.err.println("Error exporting to JSON: " + e.getMessage());
+            e.printStackTrace();
+            deleteQuietly(tempPath);
+            return false;
+        }
+        
+        if (!complete || exported.get() == 0) {
+            deleteQuietly(tempPath);
+            if (complete) {
                 System.out.println("No tasks to export!");
-                return false;
             }
-            
-            String json = gson.toJson(allTasks);
-            Files.write(Paths.get(filePath), json.getBytes());
-            
-            System.out.println("✓ Successfully exported " + allTasks.size() + " tasks to: " + filePath);
-            return true;
+            return false;
+        }
+        
+        try {
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
         } catch (IOException e) {
             System.err.println("Error exporting to JSON: " + e.getMessage());
-            e.printStackTrace();
+            deleteQuietly(tempPath);
             return false;
         }
+        
+        System.out.println("✓ Successfully exported " + exported.get() + " tasks to: " + filePath);
+        return true;
+    }
+
+    /**
+     * Remove a partially written export file
+     */
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            System.err.println("Error removing incomplete export file: " + e.getMessage());
+        }
     }
 
     /**
@@ -106,18 +147,10 @@ public class ImportExportService {
                 return false;
             }
             
-            int imported = 0;
             int skipped = 0;
+            List<Task> valid = new ArrayList<>(tasks.size());
             
             for (Task task : tasks) {
-                // Check if task already exists
-                Task existing = taskService.getTaskById(task.getId());
-                if (existing != null) {
-                    System.out.println("⚠ Task " + task.getId() + " already exists. Skipping...");
-                    skipped++;
-                    continue;
-                }
-                
                 // Validate task before importing
                 if (task.getTitle() == null || task.getTitle().trim().isEmpty()) {
                     System.out.println("⚠ Invalid task found (missing title). Skipping...");
@@ -127,10 +160,10 @@ public class ImportExportService {
                 
                 // Ensure required fields have defaults
                 if (task.getStatus() == null) {
-                    task.setStatus(Task.STATUS_TODO);
+                    task.setStatus(Status.TODO);
                 }
                 if (task.getPriority() == null) {
-                    task.setPriority(Task.PRIORITY_MEDIUM);
+                    task.setPriority(Priority.MEDIUM);
                 }
                 if (task.getCreatedAt() == null) {
                     task.setCreatedAt(LocalDateTime.now());
@@ -139,14 +172,28 @@ public class ImportExportService {
                     task.setUpdatedAt(LocalDateTime.now());
                 }
                 
-                // Import task to database using TaskDAO
-                com.finalproject.dao.TaskDAO taskDAO = new com.finalproject.dao.TaskDAO();
-                if (taskDAO.insertTask(task)) {
-                    imported++;
-                } else {
-                    skipped++;
+                valid.add(task);
+            }
+            
+            // Import all valid tasks in batched transactions
+            BulkInsertResult result = taskService.bulkInsertTasks(valid);
+            int imported = result.getInsertedCount();
+            int reported = 0;
+            for (int i = 0; i < result.size(); i++) {
+                BulkInsertResult.Outcome outcome = result.getOutcome(i);
+                if (outcome == BulkInsertResult.Outcome.INSERTED) {
+                    continue;
+                }
+                skipped++;
+                if (reported++ < MAX_REPORTED_SKIPS) {
+                    System.out.println(outcome == BulkInsertResult.Outcome.DUPLICATE
+                            ? "⚠ Task " + valid.get(i).getId() + " already exists. Skipping..."
+                            : "⚠ Task " + valid.get(i).getId() + " could not be imported. Skipping...");
                 }
             }
+            if (reported > MAX_REPORTED_SKIPS) {
+                System.out.println("⚠ ... and " + (reported - MAX_REPORTED_SKIPS) + " more skipped tasks");
+            }
             
             System.out.println("✓ Import completed!");
             System.out.println("  Imported: " + imported + " tasks");
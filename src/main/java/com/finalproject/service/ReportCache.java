@@ -0,0 +1,130 @@
+package com.finalproject.service;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Size-bounded LRU cache of rendered reports by report type and date range.
+ * Each entry remembers the board write version it was computed at (see
+ * TaskService.getWriteVersion) and is stale once the version has moved on;
+ * entries stored as PERMANENT cover closed ranges and never go stale.
+ */
+public class ReportCache {
+    // Version of an entry that no later write can change
+    public static final long PERMANENT = -1L;
+
+    private final int maxSize;
+    private final LinkedHashMap<Key, Entry> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    private static final class Key {
+        private final String type;
+        private final LocalDate from;
+        private final LocalDate to;
+
+        private Key(String type, LocalDate from, LocalDate to) {
+            this.type = type;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return type.equals(other.type) && Objects.equals(from, other.from) && Objects.equals(to, other.to);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, from, to);
+        }
+    }
+
+    private static final class Entry {
+        private final String report;
+        private final long version;
+
+        private Entry(String report, long version) {
+            this.report = report;
+            this.version = version;
+        }
+    }
+
+    public ReportCache(int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Get a cached report, or null on a miss or an entry older than the current write version
+     * @param from first day of the range, or null for reports without one
+     */
+    public synchronized String get(String type, LocalDate from, LocalDate to, long currentVersion) {
+        Key key = new Key(type, from, to);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (entry.version != PERMANENT && entry.version != currentVersion) {
+            entries.remove(key);
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.report;
+    }
+
+    /**
+     * Store a report computed at the given write version (read before computing it), or PERMANENT
+     */
+    public synchronized void put(String type, LocalDate from, LocalDate to, long version, String report) {
+        entries.put(new Key(type, from, to), new Entry(report, version));
+        Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+        while (entries.size() > maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ReportCache{size=" + entries.size() + "/" + maxSize +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                ", evictions=" + evictions + '}';
+    }
+}
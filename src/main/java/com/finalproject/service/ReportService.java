@@ -1,208 +1,238 @@
 package com.finalproject.service;
 
-import com.finalproject.model.Task;
+import com.finalproject.config.DatabaseConfig;
+import com.finalproject.model.Status;
+import com.finalproject.model.TaskColumns;
+import com.finalproject.model.TimeTotals;
 
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
- * Service for generating time summary reports
+ * Service for generating time summary reports.
+ * Sums and counts are computed by the database (GROUP BY queries in TaskDAO).
+ * The daily listing comes from the time_entries log; the weekly and overall
+ * reports read the daily_rollup table, so they sum a few rows per day instead
+ * of scanning the tasks.
+ * Rendered database reports are cached until the next TaskService write; a
+ * weekly report for a closed week is kept for good (see ReportCache).
  */
 public class ReportService {
     private TaskService taskService;
+    // Null when disabled
+    private ReportCache reportCache;
     private static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
+    private static final String DAILY = "daily";
+    private static final String WEEKLY = "weekly";
+    private static final String OVERALL = "overall";
+
     public ReportService(TaskService taskService) {
         this.taskService = taskService;
+        this.reportCache = DatabaseConfig.isReportCacheEnabled()
+                ? new ReportCache(DatabaseConfig.getReportCacheMaxSize())
+                : null;
     }
     
     // Constructor for backward compatibility with KanbanBoard
     public ReportService(com.finalproject.model.KanbanBoard board) {
         // Create a temporary TaskService - this is for compatibility only
-        this.taskService = new TaskService();
+        this(new TaskService());
     }
 
     /**
      * Generate daily time summary report
      */
     public void generateDailyReport(LocalDate date) {
-        System.out.println("\n" + "=".repeat(60));
-        System.out.println("DAILY TIME SUMMARY REPORT");
-        System.out.println("Date: " + date.format(dateFormatter));
-        System.out.println("=".repeat(60));
+        // The listing shows each task's current status, so even a past day is only
+        // cached until the next write
+        long version = TaskService.getWriteVersion();
+        String report = cachedReport(DAILY, date, date, version);
+        if (report == null) {
+            report = renderDailyReport(date);
+            storeReport(DAILY, date, date, version, report);
+        }
+        System.out.print(report);
+    }
+
+    private String renderDailyReport(LocalDate date) {
+        StringWriter text = new StringWriter();
+        PrintWriter out = new PrintWriter(text);
+        out.println("\n" + "=".repeat(60));
+        out.println("DAILY TIME SUMMARY REPORT");
+        out.println("Date: " + date.format(dateFormatter));
+        out.println("=".repeat(60));
 
-        List<Task> tasksForDay = getTasksForDate(date);
+        // Tasks worked on that day, each with the hours logged that day
+        TaskColumns tasksForDay = taskService.getLoggedTimeByTask(date, date);
         
-        if (tasksForDay.isEmpty()) {
-            System.out.println("No tasks found for this date.");
-            return;
+        if (tasksForDay.size() == 0) {
+            out.println("No tasks found for this date.");
+            out.flush();
+            return text.toString();
         }
 
-        float totalTime = (float) tasksForDay.stream()
-                .mapToDouble(Task::getTimeSpent)
-                .sum();
+        Map<Status, TimeTotals> statusTotals = taskService.getLoggedTimeByStatus(date, date);
+        double totalTime = 0;
+        for (TimeTotals totals : statusTotals.values()) {
+            totalTime += totals.getTimeSpent();
+        }
 
-        System.out.println("\nTotal Time Spent: " + String.format("%.2f", totalTime) + " hours");
-        System.out.println("\nTasks Breakdown:");
-        System.out.println("-".repeat(60));
+        out.println("\nTotal Time Spent: " + String.format("%.2f", (float) totalTime) + " hours");
+        out.println("\nTasks Breakdown:");
+        out.println("-".repeat(60));
 
-        for (Task task : tasksForDay) {
-            System.out.println(String.format("• %s [%s] - %.2fh", 
-                task.getTitle(), 
-                task.getStatus(), 
-                task.getTimeSpent()));
+        for (int row = 0; row < tasksForDay.size(); row++) {
+            out.println(String.format("• %s [%s] - %.2fh", 
+                tasksForDay.getTitle(row), 
+                tasksForDay.getStatus(row), 
+                tasksForDay.getTimeSpent(row)));
         }
 
-        // Status breakdown
-        Map<String, Float> statusTime = tasksForDay.stream()
-                .collect(Collectors.groupingBy(
-                    Task::getStatus,
-                    Collectors.collectingAndThen(
-                        Collectors.summingDouble(Task::getTimeSpent),
-                        Double::floatValue
-                    )
-                ));
-
-        System.out.println("\nTime by Status:");
-        statusTime.forEach((status, time) -> 
-            System.out.println(String.format("  %s: %.2fh", status, time))
+        out.println("\nTime by Status:");
+        statusTotals.forEach((status, totals) -> 
+            out.println(String.format("  %s: %.2fh", status, (float) totals.getTimeSpent()))
         );
 
-        System.out.println("=".repeat(60) + "\n");
+        out.println("=".repeat(60) + "\n");
+        out.flush();
+        return text.toString();
     }
 
     /**
      * Generate weekly time summary report
      */
     public void generateWeeklyReport(LocalDate startDate) {
-        System.out.println("\n" + "=".repeat(60));
-        System.out.println("WEEKLY TIME SUMMARY REPORT");
-        System.out.println("Week Starting: " + startDate.format(dateFormatter));
-        System.out.println("=".repeat(60));
-
         LocalDate endDate = startDate.plusDays(6);
-        List<Task> tasksForWeek = getTasksForDateRange(startDate, endDate);
+        long version = TaskService.getWriteVersion();
+        String report = cachedReport(WEEKLY, startDate, endDate, version);
+        if (report == null) {
+            Map<LocalDate, TimeTotals> dailyTotals = taskService.getDailyRollup(startDate, endDate);
+            report = renderWeeklyReport(startDate, endDate, dailyTotals);
+            // An empty week may be a failed query, so only keep weeks with data for good
+            boolean closed = reportCache != null && !dailyTotals.isEmpty() && isClosed(endDate);
+            storeReport(WEEKLY, startDate, endDate, closed ? ReportCache.PERMANENT : version, report);
+        }
+        System.out.print(report);
+    }
+
+    private String renderWeeklyReport(LocalDate startDate, LocalDate endDate, Map<LocalDate, TimeTotals> dailyTotals) {
+        StringWriter text = new StringWriter();
+        PrintWriter out = new PrintWriter(text);
+        out.println("\n" + "=".repeat(60));
+        out.println("WEEKLY TIME SUMMARY REPORT");
+        out.println("Week Starting: " + startDate.format(dateFormatter));
+        out.println("=".repeat(60));
+
+        if (dailyTotals.isEmpty()) {
+            out.println("No tasks found for this week.");
+            out.flush();
+            return text.toString();
+        }
 
-        if (tasksForWeek.isEmpty()) {
-            System.out.println("No tasks found for this week.");
-            return;
+        double totalTime = 0;
+        long doneCount = 0;
+        for (TimeTotals totals : dailyTotals.values()) {
+            totalTime += totals.getTimeSpent();
+            doneCount += totals.getCompletions();
         }
 
-        float totalTime = (float) tasksForWeek.stream()
-                .mapToDouble(Task::getTimeSpent)
-                .sum();
-
-        System.out.println("\nTotal Time Spent: " + String.format("%.2f", totalTime) + " hours");
-        System.out.println("Average per Day: " + String.format("%.2f", totalTime / 7) + " hours");
-
-        // Daily breakdown
-        Map<LocalDate, Float> dailyTime = tasksForWeek.stream()
-                .collect(Collectors.groupingBy(
-                    task -> getTaskDate(task),
-                    Collectors.collectingAndThen(
-                        Collectors.summingDouble(Task::getTimeSpent),
-                        Double::floatValue
-                    )
-                ));
-
-        System.out.println("\nDaily Breakdown:");
-        System.out.println("-".repeat(60));
+        out.println("\nTotal Time Spent: " + String.format("%.2f", (float) totalTime) + " hours");
+        out.println("Average per Day: " + String.format("%.2f", (float) totalTime / 7) + " hours");
+
+        out.println("\nDaily Breakdown:");
+        out.println("-".repeat(60));
         for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
-            float dayTime = dailyTime.getOrDefault(date, 0.0f);
-            System.out.println(String.format("  %s: %.2fh", 
+            float dayTime = (float) dailyTotals.getOrDefault(date, TimeTotals.empty()).getTimeSpent();
+            out.println(String.format("  %s: %.2fh", 
                 date.format(dateFormatter), 
                 dayTime));
         }
 
         // Task summary
-        System.out.println("\nTasks Completed:");
-        long doneCount = tasksForWeek.stream()
-                .filter(task -> task.getStatus().equals(Task.STATUS_DONE))
-                .count();
-        System.out.println("  Done: " + doneCount + " tasks");
+        out.println("\nTasks Completed:");
+        out.println("  Done: " + doneCount + " tasks");
 
-        System.out.println("=".repeat(60) + "\n");
+        out.println("=".repeat(60) + "\n");
+        out.flush();
+        return text.toString();
     }
 
     /**
      * Generate overall summary report
      */
     public void generateOverallReport() {
-        System.out.println("\n" + "=".repeat(60));
-        System.out.println("OVERALL SUMMARY REPORT");
-        System.out.println("=".repeat(60));
+        long version = TaskService.getWriteVersion();
+        String report = cachedReport(OVERALL, null, null, version);
+        if (report == null) {
+            report = renderOverallReport();
+            storeReport(OVERALL, null, null, version, report);
+        }
+        System.out.print(report);
+    }
 
-        List<Task> allTasks = taskService.getAllTasks();
-        float totalTime = (float) allTasks.stream().mapToDouble(Task::getTimeSpent).sum();
-        int totalTasks = allTasks.size();
+    private String renderOverallReport() {
+        StringWriter text = new StringWriter();
+        PrintWriter out = new PrintWriter(text);
+        out.println("\n" + "=".repeat(60));
+        out.println("OVERALL SUMMARY REPORT");
+        out.println("=".repeat(60));
+
+        Map<Status, TimeTotals> statusTotals = taskService.getTimeTotalsByStatus();
+        long totalTasks = 0;
+        double totalTime = 0;
+        for (TimeTotals totals : statusTotals.values()) {
+            totalTasks += totals.getTaskCount();
+            totalTime += totals.getTimeSpent();
+        }
 
-        System.out.println("\nTotal Tasks: " + totalTasks);
-        System.out.println("Total Time Spent: " + String.format("%.2f", totalTime) + " hours");
+        out.println("\nTotal Tasks: " + totalTasks);
+        out.println("Total Time Spent: " + String.format("%.2f", (float) totalTime) + " hours");
 
-        Map<String, Long> statusCounts = allTasks.stream()
-                .collect(Collectors.groupingBy(Task::getStatus, Collectors.counting()));
-        
-        Map<String, Float> statusTime = allTasks.stream()
-                .collect(Collectors.groupingBy(
-                    Task::getStatus,
-                    Collectors.collectingAndThen(
-                        Collectors.summingDouble(Task::getTimeSpent),
-                        Double::floatValue
-                    )
-                ));
-
-        System.out.println("\nTasks by Status:");
-        System.out.println("  To-Do: " + statusCounts.getOrDefault(Task.STATUS_TODO, 0L));
-        System.out.println("  In-Progress: " + statusCounts.getOrDefault(Task.STATUS_IN_PROGRESS, 0L));
-        System.out.println("  Done: " + statusCounts.getOrDefault(Task.STATUS_DONE, 0L));
-
-        System.out.println("\nTime by Status:");
-        System.out.println("  To-Do: " + String.format("%.2f", 
-            statusTime.getOrDefault(Task.STATUS_TODO, 0.0f)) + "h");
-        System.out.println("  In-Progress: " + String.format("%.2f", 
-            statusTime.getOrDefault(Task.STATUS_IN_PROGRESS, 0.0f)) + "h");
-        System.out.println("  Done: " + String.format("%.2f", 
-            statusTime.getOrDefault(Task.STATUS_DONE, 0.0f)) + "h");
-
-        System.out.println("=".repeat(60) + "\n");
+        out.println("\nTasks by Status:");
+        for (Status status : Status.values()) {
+            out.println("  " + status.getLabel() + ": " + 
+                statusTotals.getOrDefault(status, TimeTotals.empty()).getTaskCount());
+        }
+
+        out.println("\nTime by Status:");
+        for (Status status : Status.values()) {
+            out.println("  " + status.getLabel() + ": " + String.format("%.2f", 
+                (float) statusTotals.getOrDefault(status, TimeTotals.empty()).getTimeSpent()) + "h");
+        }
+
+        out.println("=".repeat(60) + "\n");
+        out.flush();
+        return text.toString();
     }
 
     /**
-     * Get tasks for a specific date (simplified - checks if task was updated on that date)
+     * Report cache statistics, or null when reports are not cached
      */
-    private List<Task> getTasksForDate(LocalDate date) {
-        return taskService.getAllTasks().stream()
-                .filter(task -> {
-                    LocalDateTime updated = task.getUpdatedAt();
-                    return updated != null && updated.toLocalDate().equals(date);
-                })
-                .collect(Collectors.toList());
+    public ReportCache getReportCache() {
+        return reportCache;
     }
 
     /**
-     * Get tasks for a date range
+     * Whether no later write can change the rollup up to the given day: the day is
+     * over and no timer that started by then is still running
      */
-    private List<Task> getTasksForDateRange(LocalDate startDate, LocalDate endDate) {
-        return taskService.getAllTasks().stream()
-                .filter(task -> {
-                    LocalDateTime updated = task.getUpdatedAt();
-                    if (updated == null) return false;
-                    LocalDate taskDate = updated.toLocalDate();
-                    return !taskDate.isBefore(startDate) && !taskDate.isAfter(endDate);
-                })
-                .collect(Collectors.toList());
+    private boolean isClosed(LocalDate endDate) {
+        LocalDate nextDay = endDate.plusDays(1);
+        return !nextDay.isAfter(LocalDate.now()) && !taskService.hasTimerRunningSince(nextDay.atStartOfDay());
     }
 
-    /**
-     * Get date from task (uses updated date as proxy)
-     */
-    private LocalDate getTaskDate(Task task) {
-        LocalDateTime updated = task.getUpdatedAt();
-        return updated != null ? updated.toLocalDate() : LocalDate.now();
+    private String cachedReport(String type, LocalDate from, LocalDate to, long version) {
+        return reportCache != null ? reportCache.get(type, from, to, version) : null;
+    }
+
+    private void storeReport(String type, LocalDate from, LocalDate to, long version, String report) {
+        if (reportCache != null) {
+            reportCache.put(type, from, to, version, report);
+        }
     }
-}
 
+}
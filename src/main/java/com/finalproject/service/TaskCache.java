@@ -0,0 +1,111 @@
+package com.finalproject.service;
+
+import com.finalproject.model.Task;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size-bounded LRU cache of tasks by id with an optional time-to-live.
+ * TaskService reads through it and invalidates entries on every mutation.
+ */
+public class TaskCache {
+    private final int maxSize;
+    private final long ttlMillis; // 0 = entries never expire
+    private final LinkedHashMap<String, Entry> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    private static final class Entry {
+        private final Task task;
+        private final long loadedAt;
+
+        private Entry(Task task, long loadedAt) {
+            this.task = task;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    public TaskCache(int maxSize, long ttlMillis) {
+        this.maxSize = Math.max(1, maxSize);
+        this.ttlMillis = Math.max(0, ttlMillis);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Get a cached task, or null on a miss or an expired entry
+     */
+    public synchronized Task get(String id) {
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (isExpired(entry, System.currentTimeMillis())) {
+            entries.remove(id);
+            expirations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.task;
+    }
+
+    public synchronized void put(Task task) {
+        if (task == null || task.getId() == null) {
+            return;
+        }
+        entries.put(task.getId(), new Entry(task, System.currentTimeMillis()));
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (entries.size() > maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized void invalidate(String id) {
+        entries.remove(id);
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return ttlMillis > 0 && now - entry.loadedAt > ttlMillis;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized long getExpirations() {
+        return expirations;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "TaskCache{size=" + entries.size() + "/" + maxSize +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                ", evictions=" + evictions +
+                ", expirations=" + expirations + '}';
+    }
+}
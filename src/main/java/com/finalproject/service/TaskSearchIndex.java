@@ -0,0 +1,191 @@
+package com.finalproject.service;
+
+import com.finalproject.model.SearchResult;
+import com.finalproject.model.Task;
+import com.finalproject.util.SearchTokenizer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over task titles and descriptions, used for
+ * ranked search when the database has no FULLTEXT support (H2 / in-memory).
+ * Query terms match as prefixes; scores are TF-IDF with title hits weighted higher.
+ */
+public class TaskSearchIndex {
+    private static final double TITLE_WEIGHT = 2.0;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+
+    // term -> task id -> {title term count, description term count}
+    private final TreeMap<String, Map<String, int[]>> postings = new TreeMap<>();
+    private final Map<String, Set<String>> termsByTask = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * One ranked match - the task itself is loaded by the caller
+     */
+    public static class Hit {
+        private final String taskId;
+        private final double score;
+        private final Set<String> matchedFields;
+
+        Hit(String taskId, double score, Set<String> matchedFields) {
+            this.taskId = taskId;
+            this.score = score;
+            this.matchedFields = matchedFields;
+        }
+
+        public String getTaskId() {
+            return taskId;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public Set<String> getMatchedFields() {
+            return matchedFields;
+        }
+    }
+
+    /**
+     * Add or replace a task in the index
+     */
+    public void index(Task task) {
+        if (task == null || task.getId() == null) {
+            return;
+        }
+        Map<String, int[]> counts = new HashMap<>();
+        for (String term : SearchTokenizer.tokenize(task.getTitle())) {
+            counts.computeIfAbsent(term, t -> new int[2])[0]++;
+        }
+        for (String term : SearchTokenizer.tokenize(task.getDescription())) {
+            counts.computeIfAbsent(term, t -> new int[2])[1]++;
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(task.getId());
+            for (Map.Entry<String, int[]> entry : counts.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), t -> new HashMap<>()).put(task.getId(), entry.getValue());
+            }
+            termsByTask.put(task.getId(), new HashSet<>(counts.keySet()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a task from the index
+     */
+    public void remove(String taskId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(taskId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(String taskId) {
+        Set<String> terms = termsByTask.remove(taskId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<String, int[]> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(taskId);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsByTask.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return termsByTask.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rank indexed tasks against the query and return the top hits, best first
+     */
+    public List<Hit> search(String query, int limit) {
+        List<String> queryTerms = SearchTokenizer.tokenize(query);
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        Map<String, Double> scores = new HashMap<>();
+        Map<String, Set<String>> fields = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            int totalDocs = Math.max(1, termsByTask.size());
+            for (String queryTerm : queryTerms) {
+                NavigableMap<String, Map<String, int[]>> matches =
+                        postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, true);
+                for (Map<String, int[]> docs : matches.values()) {
+                    double idf = Math.log(1.0 + (double) totalDocs / docs.size());
+                    for (Map.Entry<String, int[]> doc : docs.entrySet()) {
+                        int[] tf = doc.getValue();
+                        scores.merge(doc.getKey(), idf * (TITLE_WEIGHT * tf[0] + DESCRIPTION_WEIGHT * tf[1]), Double::sum);
+                        Set<String> matched = fields.computeIfAbsent(doc.getKey(), id -> new LinkedHashSet<>());
+                        if (tf[0] > 0) {
+                            matched.add(SearchResult.FIELD_TITLE);
+                        }
+                        if (tf[1] > 0) {
+                            matched.add(SearchResult.FIELD_DESCRIPTION);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Keep only the best `limit` hits
+        PriorityQueue<Map.Entry<String, Double>> top =
+                new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (Map.Entry<String, Double> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            Map.Entry<String, Double> entry = top.poll();
+            hits.add(new Hit(entry.getKey(), entry.getValue(), fields.get(entry.getKey())));
+        }
+        Collections.reverse(hits);
+        return hits;
+    }
+}
@@ -1,31 +1,89 @@
 package com.finalproject.service;
 
+import com.finalproject.config.DatabaseConfig;
+import com.finalproject.dao.BulkInsertResult;
 import com.finalproject.dao.TaskDAO;
+import com.finalproject.model.Priority;
+import com.finalproject.model.SearchResult;
+import com.finalproject.model.Status;
 import com.finalproject.model.Task;
+import com.finalproject.model.TaskChanges;
+import com.finalproject.model.TaskColumns;
+import com.finalproject.model.TaskPage;
+import com.finalproject.model.TimeTotals;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service layer for Task operations - Uses MySQL database
  */
 public class TaskService {
+    // Bumped by every write through any TaskService, so cached results can tell they are stale
+    private static final AtomicLong writeVersion = new AtomicLong();
+    
     private TaskDAO taskDAO;
+    // Read-through cache for getTaskById; null when disabled
+    private final TaskCache taskCache;
+    // Ranked search for databases without FULLTEXT support; built on first search
+    private final TaskSearchIndex searchIndex = new TaskSearchIndex();
+    private volatile boolean searchIndexLoaded;
+    
+    public static final int DEFAULT_SEARCH_LIMIT = 50;
 
     public TaskService() {
         this.taskDAO = new TaskDAO();
+        this.taskCache = DatabaseConfig.isTaskCacheEnabled()
+                ? new TaskCache(DatabaseConfig.getTaskCacheMaxSize(), DatabaseConfig.getTaskCacheTtlMillis())
+                : null;
     }
 
     /**
      * Add a new task
      */
-    public boolean addTask(String title, String description, String priority) {
+    public boolean addTask(String title, String description, Priority priority) {
         if (title == null || title.trim().isEmpty()) {
             System.out.println("Error: Task title is required!");
             return false;
         }
 
-        Task task = new Task(title, description, priority);
-        return taskDAO.insertTask(task);
+        Task task = new Task(title, description, priority != null ? priority : Priority.MEDIUM);
+        boolean inserted = taskDAO.insertTask(task);
+        writeVersion.incrementAndGet();
+        if (!inserted) {
+            return false;
+        }
+        if (taskCache != null) {
+            taskCache.put(task);
+        }
+        if (searchIndexLoaded) {
+            searchIndex.index(task);
+        }
+        return true;
+    }
+
+    /**
+     * Insert many existing Task objects (e.g. from an import) in batches
+     */
+    public BulkInsertResult bulkInsertTasks(List<Task> tasks) {
+        BulkInsertResult result = taskDAO.insertTasks(tasks);
+        writeVersion.incrementAndGet();
+        if (searchIndexLoaded) {
+            for (int i = 0; i < result.size(); i++) {
+                if (result.getOutcome(i) == BulkInsertResult.Outcome.INSERTED) {
+                    searchIndex.index(tasks.get(i));
+                }
+            }
+        }
+        return result;
     }
 
     /**
@@ -35,136 +93,317 @@ public class TaskService {
         return taskDAO.getAllTasks();
     }
 
+    /**
+     * Get tasks created, updated or deleted at or after the given time,
+     * with the watermark to pass on the next call; null on error
+     */
+    public TaskChanges getChangesSince(java.time.LocalDateTime since) {
+        if (since == null) {
+            // No watermark yet: everything is a change
+            List<Task> tasks = getAllTasks();
+            java.time.LocalDateTime watermark = null;
+            for (Task task : tasks) {
+                if (task.getUpdatedAt() != null && (watermark == null || task.getUpdatedAt().isAfter(watermark))) {
+                    watermark = task.getUpdatedAt();
+                }
+            }
+            return new TaskChanges(tasks, null, watermark);
+        }
+        return taskDAO.getChangesSince(since);
+    }
+
+    /**
+     * Visit every task without loading the whole table into memory
+     * @return true if the whole table was read
+     */
+    public boolean forEachTask(Consumer<Task> consumer) {
+        return taskDAO.forEachTask(consumer);
+    }
+
+    /**
+     * Tasks with time logged between two dates, inclusive, each with the hours
+     * logged in that range as its time spent (empty on error)
+     */
+    public TaskColumns getLoggedTimeByTask(LocalDate from, LocalDate to) {
+        TaskColumns columns = taskDAO.loadLoggedTimeByTask(from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+        return columns != null ? columns : TaskColumns.empty();
+    }
+
+    /**
+     * Task count and time spent per status over all tasks, summed from the daily rollup (empty on error)
+     */
+    public Map<Status, TimeTotals> getTimeTotalsByStatus() {
+        Map<Status, TimeTotals> totals = taskDAO.sumTimeByStatus();
+        return totals != null ? totals : new EnumMap<>(Status.class);
+    }
+
+    /**
+     * Hours logged per status between two dates, inclusive, from the time entries
+     */
+    public Map<Status, TimeTotals> getLoggedTimeByStatus(LocalDate from, LocalDate to) {
+        Map<Status, TimeTotals> totals = taskDAO.sumLoggedTimeByStatus(from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+        return totals != null ? totals : new EnumMap<>(Status.class);
+    }
+
+    /**
+     * Daily rollup per day between two dates, inclusive: hours logged and tasks completed each day
+     */
+    public Map<LocalDate, TimeTotals> getDailyRollup(LocalDate from, LocalDate to) {
+        Map<LocalDate, TimeTotals> totals = taskDAO.sumRollupByDay(from, to);
+        return totals != null ? totals : new TreeMap<>();
+    }
+
+    /**
+     * Stream all tasks row by row - close the stream when done
+     */
+    public Stream<Task> streamAllTasks() {
+        return taskDAO.streamAllTasks();
+    }
+
     /**
      * Get task by ID
      */
     public Task getTaskById(String id) {
-        if (id != null && !id.isEmpty()) {
+        if (id == null || id.isEmpty()) {
+            return null;
+        }
+        if (taskCache == null) {
             return taskDAO.getTaskById(id);
         }
-        return null;
+        Task task = taskCache.get(id);
+        if (task == null) {
+            task = taskDAO.getTaskById(id);
+            taskCache.put(task);
+        }
+        return task;
     }
 
     /**
-     * Update task
+     * Task cache statistics, or null when the cache is disabled
      */
-    public boolean updateTask(String taskId, String title, String description, String priority) {
-        Task task = taskDAO.getTaskById(taskId);
-        if (task == null) {
-            System.out.println("Error: Task not found!");
-            return false;
+    public TaskCache getTaskCache() {
+        return taskCache;
+    }
+
+    /**
+     * Board write version; changes after every TaskService write, successful or not
+     */
+    public static long getWriteVersion() {
+        return writeVersion.get();
+    }
+
+    /**
+     * Drop a task from the cache after it was written and bump the write version
+     */
+    private void invalidate(String taskId) {
+        writeVersion.incrementAndGet();
+        if (taskCache != null) {
+            taskCache.invalidate(taskId);
         }
+    }
 
-        if (title != null && !title.trim().isEmpty()) {
-            task.setTitle(title);
+    /**
+     * Update task
+     */
+    public boolean updateTask(String taskId, String title, String description, Priority priority) {
+        if (title != null && title.trim().isEmpty()) {
+            title = null;
         }
-        if (description != null) {
-            task.setDescription(description);
+        boolean updated = taskDAO.updateDetails(taskId, title, description, priority, java.time.LocalDateTime.now());
+        invalidate(taskId);
+        if (!updated) {
+            System.out.println("Error: Task not found!");
+            return false;
         }
-        if (priority != null) {
-            task.setPriority(priority);
+        if (searchIndexLoaded && (title != null || description != null)) {
+            searchIndex.index(taskDAO.getTaskById(taskId));
         }
-        
-        task.setUpdatedAt(java.time.LocalDateTime.now());
-        return taskDAO.updateTask(task);
+        return true;
     }
 
     /**
      * Delete task
      */
     public boolean deleteTask(String taskId) {
-        return taskDAO.deleteTask(taskId);
+        boolean deleted = taskDAO.deleteTask(taskId);
+        invalidate(taskId);
+        if (deleted && searchIndexLoaded) {
+            searchIndex.remove(taskId);
+        }
+        return deleted;
     }
 
     /**
      * Move task to different status
      */
-    public boolean moveTask(String taskId, String newStatus) {
-        if (!isValidStatus(newStatus)) {
+    public boolean moveTask(String taskId, Status newStatus) {
+        if (newStatus == null) {
             System.out.println("Error: Invalid status! Use: To-Do, In-Progress, or Done");
             return false;
         }
         
-        Task task = taskDAO.getTaskById(taskId);
-        if (task == null) {
+        boolean updated = taskDAO.updateStatus(taskId, newStatus, java.time.LocalDateTime.now());
+        invalidate(taskId);
+        if (!updated) {
             System.out.println("Error: Task not found!");
             return false;
         }
-        
-        task.setStatus(newStatus);
-        task.setUpdatedAt(java.time.LocalDateTime.now());
-        return taskDAO.updateTask(task);
+        return true;
     }
 
     /**
      * Get tasks by status
      */
-    public List<Task> getTasksByStatus(String status) {
-        if (isValidStatus(status)) {
+    public List<Task> getTasksByStatus(Status status) {
+        if (status != null) {
             return taskDAO.getTasksByStatus(status);
         }
         return getAllTasks();
     }
 
+    /**
+     * Get one page of tasks, newest first
+     * @param pageToken token from the previous page, or null for the first page
+     */
+    public TaskPage getTasksPage(String pageToken, int pageSize) {
+        return taskDAO.getTasksPage(pageToken, pageSize);
+    }
+
+    /**
+     * Get one page of tasks by status
+     */
+    public TaskPage getTasksByStatusPage(Status status, String pageToken, int pageSize) {
+        if (status != null) {
+            return taskDAO.getTasksByStatusPage(status, pageToken, pageSize);
+        }
+        return getTasksPage(pageToken, pageSize);
+    }
+
+    /**
+     * Get one page of tasks by priority
+     */
+    public TaskPage filterByPriorityPage(Priority priority, String pageToken, int pageSize) {
+        if (priority == null) {
+            System.out.println("Error: Invalid priority! Use: low, medium, or high");
+            return TaskPage.empty();
+        }
+        return taskDAO.filterByPriorityPage(priority, pageToken, pageSize);
+    }
+
+    /**
+     * Get one page of tasks by tag
+     */
+    public TaskPage filterByTagPage(String tag, String pageToken, int pageSize) {
+        return taskDAO.filterByTagPage(tag, pageToken, pageSize);
+    }
+
+    /**
+     * Get one page of tasks by assigned user
+     */
+    public TaskPage filterByAssignedUserPage(String user, String pageToken, int pageSize) {
+        return taskDAO.filterByAssignedUserPage(user, pageToken, pageSize);
+    }
+
     /**
      * Start task timer
      */
     public boolean startTimer(String taskId) {
-        Task task = taskDAO.getTaskById(taskId);
+        Task task = taskDAO.getTimerState(taskId);
         if (task == null) {
             System.out.println("Error: Task not found!");
             return false;
         }
 
-        // Stop any other running timers first
+        // Stop any other running timers first, then reload: if this task's own timer
+        // was running, stopping it logged time and changed time_spent
         stopAllRunningTimers();
+        task = taskDAO.getTimerState(taskId);
+        if (task == null) {
+            System.out.println("Error: Task not found!");
+            return false;
+        }
 
         task.startTimer();
         task.setUpdatedAt(java.time.LocalDateTime.now());
-        return taskDAO.updateTask(task);
+        boolean updated = taskDAO.updateTimerFields(task);
+        invalidate(taskId);
+        return updated;
     }
 
     /**
      * Stop task timer
      */
     public boolean stopTimer(String taskId) {
-        Task task = taskDAO.getTaskById(taskId);
+        Task task = taskDAO.getTimerState(taskId);
         if (task == null) {
             System.out.println("Error: Task not found!");
             return false;
         }
 
+        java.time.LocalDateTime startedAt = task.getStartTime();
+        float timeBefore = task.getTimeSpent();
         task.stopTimer();
         task.setUpdatedAt(java.time.LocalDateTime.now());
-        return taskDAO.updateTask(task);
+        boolean updated = saveTimer(task, startedAt, timeBefore);
+        invalidate(taskId);
+        return updated;
     }
 
     /**
      * Pause task timer
      */
     public boolean pauseTimer(String taskId) {
-        Task task = taskDAO.getTaskById(taskId);
+        Task task = taskDAO.getTimerState(taskId);
         if (task == null) {
             System.out.println("Error: Task not found!");
             return false;
         }
 
+        java.time.LocalDateTime startedAt = task.getStartTime();
+        float timeBefore = task.getTimeSpent();
         task.pauseTimer();
         task.setUpdatedAt(java.time.LocalDateTime.now());
-        return taskDAO.updateTask(task);
+        boolean updated = saveTimer(task, startedAt, timeBefore);
+        invalidate(taskId);
+        return updated;
+    }
+
+    /**
+     * Whether a timer started before the given time is still running (it will
+     * log time from its start when stopped)
+     */
+    public boolean hasTimerRunningSince(java.time.LocalDateTime time) {
+        for (Task task : taskDAO.getRunningTimers()) {
+            if (task.getStartTime() != null && task.getStartTime().isBefore(time)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
      * Stop all running timers
      */
     private void stopAllRunningTimers() {
-        getAllTasks().stream()
-                .filter(Task::isTimerRunning)
-                .forEach(task -> {
-                    task.pauseTimer();
-                    task.setUpdatedAt(java.time.LocalDateTime.now());
-                    taskDAO.updateTask(task);
-                });
+        taskDAO.getRunningTimers().forEach(task -> {
+            java.time.LocalDateTime startedAt = task.getStartTime();
+            float timeBefore = task.getTimeSpent();
+            task.pauseTimer();
+            task.setUpdatedAt(java.time.LocalDateTime.now());
+            saveTimer(task, startedAt, timeBefore);
+            invalidate(task.getId());
+        });
+    }
+
+    /**
+     * Save a task's timer fields; if a running timer was just stopped,
+     * also log its interval as a time entry in the same transaction
+     */
+    private boolean saveTimer(Task task, java.time.LocalDateTime startedAt, float timeBefore) {
+        if (startedAt == null) {
+            return taskDAO.updateTimerFields(task);
+        }
+        return taskDAO.updateTimerFields(task, startedAt, task.getTimeSpent() - timeBefore);
     }
 
     /**
@@ -174,11 +413,56 @@ public class TaskService {
         return taskDAO.searchTasks(searchTerm);
     }
 
+    /**
+     * Ranked full-text search over title and description, best match first.
+     * Uses the MySQL FULLTEXT index, or the in-process index on other databases.
+     */
+    public List<SearchResult> searchTasksRanked(String searchTerm, int limit) {
+        if (DatabaseConfig.isMySql()) {
+            return taskDAO.fullTextSearch(searchTerm, limit);
+        }
+        
+        ensureSearchIndex();
+        List<TaskSearchIndex.Hit> hits = searchIndex.search(searchTerm, limit);
+        List<String> ids = new ArrayList<>(hits.size());
+        for (TaskSearchIndex.Hit hit : hits) {
+            ids.add(hit.getTaskId());
+        }
+        Map<String, Task> tasksById = new HashMap<>();
+        for (Task task : taskDAO.getTasksByIds(ids)) {
+            tasksById.put(task.getId(), task);
+        }
+        
+        List<SearchResult> results = new ArrayList<>(hits.size());
+        for (TaskSearchIndex.Hit hit : hits) {
+            Task task = tasksById.get(hit.getTaskId());
+            if (task != null) {
+                results.add(new SearchResult(task, hit.getScore(), hit.getMatchedFields()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Build the in-process search index with one streaming pass over the table
+     */
+    private void ensureSearchIndex() {
+        if (searchIndexLoaded) {
+            return;
+        }
+        synchronized (searchIndex) {
+            if (!searchIndexLoaded) {
+                searchIndex.clear();
+                searchIndexLoaded = taskDAO.forEachTask(searchIndex::index);
+            }
+        }
+    }
+
     /**
      * Filter by priority
      */
-    public List<Task> filterByPriority(String priority) {
-        if (!isValidPriority(priority)) {
+    public List<Task> filterByPriority(Priority priority) {
+        if (priority == null) {
             System.out.println("Error: Invalid priority! Use: low, medium, or high");
             return List.of();
         }
@@ -203,47 +487,29 @@ public class TaskService {
      * Add tag to task
      */
     public boolean addTagToTask(String taskId, String tag) {
-        Task task = taskDAO.getTaskById(taskId);
-        if (task == null) {
-            return false;
-        }
-        task.addTag(tag);
-        task.setUpdatedAt(java.time.LocalDateTime.now());
-        return taskDAO.updateTask(task);
-    }
-
-    /**
-     * Assign task to user
-     */
-    public boolean assignTask(String taskId, String user) {
-        Task task = taskDAO.getTaskById(taskId);
-        if (task == null) {
-            return false;
+        if (tag == null || tag.trim().isEmpty()) {
+            return getTaskById(taskId) != null;
         }
-        task.setAssignedTo(user);
-        task.setUpdatedAt(java.time.LocalDateTime.now());
-        return taskDAO.updateTask(task);
+        boolean updated = taskDAO.addTag(taskId, tag, java.time.LocalDateTime.now());
+        invalidate(taskId);
+        return updated;
     }
 
     /**
-     * Validate status
+     * Remove tag from task
      */
-    private boolean isValidStatus(String status) {
-        return status != null && (
-                status.equals(Task.STATUS_TODO) ||
-                status.equals(Task.STATUS_IN_PROGRESS) ||
-                status.equals(Task.STATUS_DONE)
-        );
+    public boolean removeTagFromTask(String taskId, String tag) {
+        boolean updated = taskDAO.removeTag(taskId, tag, java.time.LocalDateTime.now());
+        invalidate(taskId);
+        return updated;
     }
 
     /**
-     * Validate priority
+     * Assign task to user
      */
-    private boolean isValidPriority(String priority) {
-        return priority != null && (
-                priority.equals(Task.PRIORITY_LOW) ||
-                priority.equals(Task.PRIORITY_MEDIUM) ||
-                priority.equals(Task.PRIORITY_HIGH)
-        );
+    public boolean assignTask(String taskId, String user) {
+        boolean updated = taskDAO.setAssignee(taskId, user, java.time.LocalDateTime.now());
+        invalidate(taskId);
+        return updated;
     }
 }
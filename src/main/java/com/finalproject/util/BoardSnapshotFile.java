@@ -0,0 +1,221 @@
+package com.finalproject.util;
+
+import com.finalproject.model.Priority;
+import com.finalproject.model.Status;
+import com.finalproject.model.Task;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary snapshot of the board on local disk, so the CLI can show the board at
+ * startup without reading the whole tasks table. The file is memory-mapped when
+ * read; the caller then catches up with the database from the stored watermark.
+ * A snapshot written for a different database URL or format version is ignored.
+ */
+public class BoardSnapshotFile {
+    private static final int MAGIC = 0x544D4253; // "TMBS"
+    private static final int VERSION = 1;
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    private static final Status[] STATUSES = Status.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    /**
+     * Tasks read from a snapshot file and the newest updated_at they include
+     */
+    public static class Snapshot {
+        private final List<Task> tasks;
+        private final LocalDateTime watermark;
+
+        Snapshot(List<Task> tasks, LocalDateTime watermark) {
+            this.tasks = tasks;
+            this.watermark = watermark;
+        }
+
+        public List<Task> getTasks() {
+            return tasks;
+        }
+
+        public LocalDateTime getWatermark() {
+            return watermark;
+        }
+    }
+
+    /**
+     * Write the board to a temporary file and move it over the old snapshot,
+     * so a crash mid-write never leaves a truncated snapshot behind
+     * @return true if the snapshot was written
+     */
+    public static boolean write(Path file, String source, Collection<Task> tasks, LocalDateTime watermark) {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeString(out, source);
+            writeTime(out, watermark);
+            out.writeInt(tasks.size());
+            for (Task task : tasks) {
+                writeString(out, task.getId());
+                writeString(out, task.getTitle());
+                writeString(out, task.getDescription());
+                out.writeByte(task.getStatus() != null ? task.getStatus().ordinal() : -1);
+                out.writeByte(task.getPriority() != null ? task.getPriority().ordinal() : -1);
+                out.writeFloat(task.getTimeSpent());
+                writeTime(out, task.getStartTime());
+                writeTime(out, task.getEndTime());
+                writeString(out, task.getAssignedTo());
+                writeTime(out, task.getCreatedAt());
+                writeTime(out, task.getUpdatedAt());
+                List<String> tags = task.getTags() != null ? task.getTags() : new ArrayList<>();
+                out.writeInt(tags.size());
+                for (String tag : tags) {
+                    writeString(out, tag);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing board snapshot: " + e.getMessage());
+            deleteQuietly(temp);
+            return false;
+        }
+        try {
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error replacing board snapshot: " + e.getMessage());
+            deleteQuietly(temp);
+            return false;
+        }
+    }
+
+    /**
+     * Memory-map and decode a snapshot
+     * @return the snapshot, or null if the file is missing, unreadable, or was written
+     *         for another database or format version
+     */
+    public static Snapshot read(Path file, String source) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buf.getInt() != MAGIC || buf.getInt() != VERSION) {
+                return null;
+            }
+            String storedSource = readString(buf);
+            if (storedSource == null || !storedSource.equals(source)) {
+                return null;
+            }
+            LocalDateTime watermark = readTime(buf);
+            int count = buf.getInt();
+            if (count < 0 || count > buf.remaining()) {
+                throw new BufferUnderflowException();
+            }
+            // Repeated tag names share one String, as in TaskDAO
+            Map<String, String> tagNames = new HashMap<>();
+            List<Task> tasks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Task task = new Task();
+                task.setId(readString(buf));
+                task.setTitle(readString(buf));
+                task.setDescription(readString(buf));
+                byte status = buf.get();
+                byte priority = buf.get();
+                task.setStatus(status >= 0 ? STATUSES[status] : null);
+                task.setPriority(priority >= 0 ? PRIORITIES[priority] : null);
+                task.setTimeSpent(buf.getFloat());
+                task.setStartTime(readTime(buf));
+                task.setEndTime(readTime(buf));
+                task.setAssignedTo(readString(buf));
+                task.setCreatedAt(readTime(buf));
+                LocalDateTime updatedAt = readTime(buf);
+                int tagCount = buf.getInt();
+                if (tagCount < 0 || tagCount > buf.remaining()) {
+                    throw new BufferUnderflowException();
+                }
+                List<String> tags = new ArrayList<>(tagCount);
+                for (int t = 0; t < tagCount; t++) {
+                    String tag = readString(buf);
+                    tags.add(tagNames.computeIfAbsent(tag, k -> k));
+                }
+                task.setTags(tags);
+                // After setTags, which stamps updatedAt with the current time
+                task.setUpdatedAt(updatedAt);
+                tasks.add(task);
+            }
+            return new Snapshot(tasks, watermark);
+        } catch (IOException | RuntimeException e) {
+            // Any decoding failure (truncation, bad counts, out-of-range times) discards the file
+            System.err.println("Ignoring unreadable board snapshot: " + e);
+            return null;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(MappedByteBuffer buf) {
+        int length = buf.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > buf.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeTime(DataOutputStream out, LocalDateTime time) throws IOException {
+        if (time == null) {
+            out.writeLong(NO_TIME);
+            out.writeInt(0);
+            return;
+        }
+        out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(time.getNano());
+    }
+
+    private static LocalDateTime readTime(MappedByteBuffer buf) {
+        long seconds = buf.getLong();
+        int nanos = buf.getInt();
+        return seconds == NO_TIME ? null : LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("Could not delete " + file + ": " + e.getMessage());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.finalproject.util;
 
 import com.finalproject.config.DatabaseConfig;
+import com.finalproject.dao.DailyRollup;
 
 import java.sql.Connection;
 import java.sql.Statement;
@@ -11,6 +12,51 @@ import java.sql.SQLException;
  */
 public class DatabaseSetup {
     
+    // Status and priority are stored as one-byte ENUM columns holding the enum labels
+    private static final String STATUS_COLUMN = 
+        "status ENUM('To-Do', 'In-Progress', 'Done') NOT NULL DEFAULT 'To-Do'";
+    
+    private static final String PRIORITY_COLUMN = 
+        "priority ENUM('low', 'medium', 'high') NOT NULL DEFAULT 'medium'";
+    
+    // Timer instants are native timestamps; a non-null start_time means the timer is running
+    private static final String START_TIME_COLUMN = 
+        "start_time TIMESTAMP(3) NULL DEFAULT NULL";
+    
+    private static final String END_TIME_COLUMN = 
+        "end_time TIMESTAMP(3) NULL DEFAULT NULL";
+    
+    // Tag dictionary; task_tags refers to tags by integer id
+    private static final String CREATE_TAGS_TABLE = 
+        "CREATE TABLE IF NOT EXISTS tags (" +
+        "id INT AUTO_INCREMENT PRIMARY KEY, " +
+        "name VARCHAR(50) NOT NULL, " +
+        "CONSTRAINT uk_tags_name UNIQUE (name)" +
+        ")";
+    
+    private static final String CREATE_TASK_TAGS_TABLE = 
+        "CREATE TABLE IF NOT EXISTS %s (" +
+        "task_id VARCHAR(100), " +
+        "tag_id INT NOT NULL, " +
+        "PRIMARY KEY (task_id, tag_id), " +
+        "FOREIGN KEY (task_id) REFERENCES tasks(id) ON DELETE CASCADE, " +
+        "FOREIGN KEY (tag_id) REFERENCES tags(id), " +
+        "INDEX %s (tag_id)" +
+        ")";
+    
+    // Per-day totals by status and assignee, kept by TaskDAO in each write transaction (see DailyRollup)
+    private static final String CREATE_DAILY_ROLLUP_TABLE = 
+        "CREATE TABLE IF NOT EXISTS daily_rollup (" +
+        "rollup_day DATE NOT NULL, " +
+        STATUS_COLUMN + ", " +
+        "assignee VARCHAR(100) NOT NULL DEFAULT '', " +
+        "task_count INT NOT NULL DEFAULT 0, " +
+        "time_spent DOUBLE NOT NULL DEFAULT 0, " +
+        "time_logged DOUBLE NOT NULL DEFAULT 0, " +
+        "completions INT NOT NULL DEFAULT 0, " +
+        "PRIMARY KEY (rollup_day, status, assignee)" +
+        ")";
+    
     /**
      * Create tables if they don't exist
      */
@@ -28,32 +74,31 @@ public class DatabaseSetup {
                 "id VARCHAR(100) PRIMARY KEY, " +
                 "title VARCHAR(200) NOT NULL, " +
                 "description TEXT, " +
-                "status VARCHAR(20) NOT NULL DEFAULT 'To-Do', " +
-                "priority VARCHAR(10) NOT NULL DEFAULT 'medium', " +
+                STATUS_COLUMN + ", " +
+                PRIORITY_COLUMN + ", " +
                 "time_spent FLOAT DEFAULT 0.0, " +
-                "start_time VARCHAR(50), " +
-                "end_time VARCHAR(50), " +
+                START_TIME_COLUMN + ", " +
+                END_TIME_COLUMN + ", " +
                 "assigned_to VARCHAR(100), " +
                 "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
                 "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP, " +
                 "INDEX idx_status (status), " +
                 "INDEX idx_priority (priority), " +
-                "INDEX idx_assigned_to (assigned_to)" +
+                "INDEX idx_assigned_to (assigned_to), " +
+                "INDEX idx_created_at (created_at, id), " +
+                "INDEX idx_updated_at (updated_at), " +
+                "INDEX idx_start_time (start_time)" +
                 ")";
             
             stmt.executeUpdate(createTasksTable);
             
-            // Create task_tags table
-            String createTaskTagsTable = 
-                "CREATE TABLE IF NOT EXISTS task_tags (" +
-                "task_id VARCHAR(100), " +
-                "tag VARCHAR(50), " +
-                "PRIMARY KEY (task_id, tag), " +
-                "FOREIGN KEY (task_id) REFERENCES tasks(id) ON DELETE CASCADE, " +
-                "INDEX idx_tag (tag)" +
-                ")";
+            // Create tags dictionary and task_tags table
+            stmt.executeUpdate(CREATE_TAGS_TABLE);
+            stmt.executeUpdate(String.format(CREATE_TASK_TAGS_TABLE, "task_tags", "idx_tag_id"));
             
-            stmt.executeUpdate(createTaskTagsTable);
+            if (!upgradeSchema()) {
+                return false;
+            }
             
             System.out.println("✓ Database tables created successfully!");
             return true;
@@ -68,6 +113,227 @@ public class DatabaseSetup {
         }
     }
     
+    /**
+     * Create tables and indexes added after the original schema.
+     * Every statement is idempotent, so this is safe to run on each startup.
+     */
+    public static boolean upgradeSchema() {
+        Connection conn = null;
+        Statement stmt = null;
+        
+        try {
+            conn = DatabaseConfig.getConnection();
+            stmt = conn.createStatement();
+            
+            // Hi/lo id blocks (see IdGenerator)
+            String createIdSequencesTable = 
+                "CREATE TABLE IF NOT EXISTS id_sequences (" +
+                "name VARCHAR(50) PRIMARY KEY, " +
+                "next_value BIGINT NOT NULL" +
+                ")";
+            
+            stmt.executeUpdate(createIdSequencesTable);
+            
+            // Deleted task ids, so change queries (TaskDAO.getChangesSince) can report deletions
+            String createTombstonesTable = 
+                "CREATE TABLE IF NOT EXISTS task_tombstones (" +
+                "task_id VARCHAR(100) PRIMARY KEY, " +
+                "deleted_at TIMESTAMP NOT NULL, " +
+                "INDEX idx_deleted_at (deleted_at)" +
+                ")";
+            
+            stmt.executeUpdate(createTombstonesTable);
+            
+            // One row per timer interval, split at midnight (see TaskDAO.updateTimerFields)
+            String createTimeEntriesTable = 
+                "CREATE TABLE IF NOT EXISTS time_entries (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "task_id VARCHAR(100) NOT NULL, " +
+                "started_at TIMESTAMP(3) NOT NULL, " +
+                "ended_at TIMESTAMP(3) NOT NULL, " +
+                "hours FLOAT NOT NULL, " +
+                "FOREIGN KEY (task_id) REFERENCES tasks(id) ON DELETE CASCADE, " +
+                "INDEX idx_time_entries_started_at (started_at), " +
+                "INDEX idx_time_entries_task_id (task_id)" +
+                ")";
+            
+            stmt.executeUpdate(createTimeEntriesTable);
+            
+            // Dictionary-encoded tags: move old task_tags(task_id, tag) rows to integer tag ids
+            stmt.executeUpdate(CREATE_TAGS_TABLE);
+            if (columnExists(conn, "task_tags", "tag")) {
+                migrateTaskTags(conn, stmt);
+            }
+            
+            // Compact status / priority columns: convert old VARCHAR columns to ENUM,
+            // mapping values outside the enums to the defaults first
+            if (!columnTypeStartsWith(conn, "tasks", "status", "ENUM")) {
+                stmt.executeUpdate(
+                    "UPDATE tasks SET status = 'To-Do' " +
+                    "WHERE status IS NULL OR status NOT IN ('To-Do', 'In-Progress', 'Done')");
+                stmt.executeUpdate("ALTER TABLE tasks MODIFY COLUMN " + STATUS_COLUMN);
+            }
+            if (!columnTypeStartsWith(conn, "tasks", "priority", "ENUM")) {
+                stmt.executeUpdate("UPDATE tasks SET priority = LOWER(priority)");
+                stmt.executeUpdate(
+                    "UPDATE tasks SET priority = 'medium' " +
+                    "WHERE priority IS NULL OR priority NOT IN ('low', 'medium', 'high')");
+                stmt.executeUpdate("ALTER TABLE tasks MODIFY COLUMN " + PRIORITY_COLUMN);
+            }
+            
+            // Native timer timestamps: convert old "yyyy-MM-dd HH:mm:ss" strings in place,
+            // clearing empty or unparseable values first
+            if (!columnTypeStartsWith(conn, "tasks", "start_time", "TIMESTAMP")) {
+                stmt.executeUpdate(
+                    "UPDATE tasks SET start_time = NULL " +
+                    "WHERE start_time NOT LIKE '____-__-__ __:__:__'");
+                stmt.executeUpdate("ALTER TABLE tasks MODIFY COLUMN " + START_TIME_COLUMN);
+            }
+            if (!columnTypeStartsWith(conn, "tasks", "end_time", "TIMESTAMP")) {
+                stmt.executeUpdate(
+                    "UPDATE tasks SET end_time = NULL " +
+                    "WHERE end_time NOT LIKE '____-__-__ __:__:__'");
+                stmt.executeUpdate("ALTER TABLE tasks MODIFY COLUMN " + END_TIME_COLUMN);
+            }
+            
+            // Keyset paging on (created_at, id), watermark queries on updated_at,
+            // running-timer lookups on start_time
+            createIndexIfMissing(conn, stmt, "tasks", "idx_created_at", "created_at, id");
+            createIndexIfMissing(conn, stmt, "tasks", "idx_updated_at", "updated_at");
+            createIndexIfMissing(conn, stmt, "tasks", "idx_start_time", "start_time");
+            
+            // Daily rollup, seeded from the existing tasks and time entries when first created
+            if (!columnExists(conn, "daily_rollup", "rollup_day")) {
+                createDailyRollup(conn, stmt);
+            }
+            
+            // Ranked full-text search (MySQL only - H2 uses the in-process TaskSearchIndex)
+            if (DatabaseConfig.isMySql() && !indexExists(conn, "tasks", "ft_title_description")) {
+                stmt.executeUpdate("ALTER TABLE tasks ADD FULLTEXT INDEX ft_title_description (title, description)");
+            }
+            return true;
+            
+        } catch (SQLException e) {
+            System.err.println("Error upgrading database schema: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        } finally {
+            DatabaseUtil.closeStatement(stmt);
+            DatabaseUtil.closeConnection(conn);
+        }
+    }
+    
+    /**
+     * Rebuild task_tags with integer tag ids in one transaction (MySQL commits each DDL
+     * statement implicitly, so there a failure part way leaves task_tags_v2 behind
+     * and the migration simply runs again on the next start)
+     */
+    private static void migrateTaskTags(Connection conn, Statement stmt) throws SQLException {
+        System.out.println("Migrating task tags to the tags dictionary...");
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            stmt.executeUpdate("DROP TABLE IF EXISTS task_tags_v2");
+            stmt.executeUpdate(
+                "INSERT INTO tags (name) SELECT DISTINCT tt.tag FROM task_tags tt " +
+                "WHERE tt.tag IS NOT NULL AND NOT EXISTS (SELECT 1 FROM tags g WHERE g.name = tt.tag)");
+            stmt.executeUpdate(String.format(CREATE_TASK_TAGS_TABLE, "task_tags_v2", "idx_tag_id_v2"));
+            stmt.executeUpdate(
+                "INSERT INTO task_tags_v2 (task_id, tag_id) " +
+                "SELECT DISTINCT tt.task_id, g.id FROM task_tags tt JOIN tags g ON g.name = tt.tag");
+            stmt.executeUpdate("DROP TABLE task_tags");
+            stmt.executeUpdate("ALTER TABLE task_tags_v2 RENAME TO task_tags");
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+    
+    /**
+     * Create and seed the daily_rollup table. If seeding fails the table is dropped
+     * again, so the next start retries instead of reporting from a partial rollup.
+     */
+    private static void createDailyRollup(Connection conn, Statement stmt) throws SQLException {
+        System.out.println("Building daily rollup...");
+        stmt.executeUpdate(CREATE_DAILY_ROLLUP_TABLE);
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            DailyRollup.rebuild(conn);
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            conn.setAutoCommit(autoCommit);
+            stmt.executeUpdate("DROP TABLE IF EXISTS daily_rollup");
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+    
+    /**
+     * Check if a table has a column
+     */
+    private static boolean columnExists(Connection conn, String table, String column) throws SQLException {
+        java.sql.ResultSet rs = null;
+        try {
+            rs = conn.getMetaData().getColumns(conn.getCatalog(), null, table, column);
+            return rs.next();
+        } finally {
+            DatabaseUtil.closeResultSet(rs);
+        }
+    }
+    
+    /**
+     * Check a column's SQL type name (MySQL reports "ENUM", H2 the full "ENUM(...)")
+     */
+    private static boolean columnTypeStartsWith(Connection conn, String table, String column,
+                                                String typePrefix) throws SQLException {
+        java.sql.ResultSet rs = null;
+        try {
+            rs = conn.getMetaData().getColumns(conn.getCatalog(), null, table, column);
+            return rs.next() && rs.getString("TYPE_NAME").toUpperCase().startsWith(typePrefix);
+        } finally {
+            DatabaseUtil.closeResultSet(rs);
+        }
+    }
+    
+    /**
+     * Create a plain index unless it already exists
+     */
+    private static void createIndexIfMissing(Connection conn, Statement stmt, String table,
+                                             String index, String columns) throws SQLException {
+        if (!DatabaseConfig.isMySql()) {
+            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS " + index + " ON " + table + " (" + columns + ")");
+        } else if (!indexExists(conn, table, index)) {
+            stmt.executeUpdate("CREATE INDEX " + index + " ON " + table + " (" + columns + ")");
+        }
+    }
+    
+    /**
+     * Check if an index exists (MySQL has no CREATE INDEX IF NOT EXISTS)
+     */
+    private static boolean indexExists(Connection conn, String table, String index) throws SQLException {
+        java.sql.PreparedStatement pstmt = null;
+        java.sql.ResultSet rs = null;
+        try {
+            pstmt = conn.prepareStatement(
+                "SELECT COUNT(*) FROM information_schema.statistics " +
+                "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?"
+            );
+            pstmt.setString(1, table);
+            pstmt.setString(2, index);
+            rs = pstmt.executeQuery();
+            return rs.next() && rs.getInt(1) > 0;
+        } finally {
+            DatabaseUtil.closeResultSet(rs);
+            DatabaseUtil.closeStatement(pstmt);
+        }
+    }
+    
     /**
      * Check if tables exist
      */
@@ -12,7 +12,7 @@ import java.sql.Statement;
 public class DatabaseUtil {
     
     /**
-     * Close database connection
+     * Close database connection (pooled connections are returned to the pool)
      */
     public static void closeConnection(Connection conn) {
         if (conn != null) {
@@ -6,45 +6,178 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Utility class for generating simple sequential task IDs
+ * Utility class for generating simple sequential task IDs.
+ * Uses a hi/lo scheme: each process reserves a block of ids from the
+ * id_sequences table in one transaction and hands them out from memory.
  */
 public class IdGenerator {
-    
+    private static final String TASK_SEQUENCE = "task";
+
+    private static final String SELECT_SEQUENCE_FOR_UPDATE =
+        "SELECT next_value FROM id_sequences WHERE name = ? FOR UPDATE";
+
+    private static final String UPDATE_SEQUENCE =
+        "UPDATE id_sequences SET next_value = ? WHERE name = ?";
+
+    private static final String ADVANCE_SEQUENCE =
+        "UPDATE id_sequences SET next_value = ? WHERE name = ? AND next_value < ?";
+
+    private static final String INSERT_SEQUENCE =
+        "INSERT INTO id_sequences (name, next_value) VALUES (?, ?)";
+
+    // Only used once, to seed the sequence from ids created before it existed.
+    // Parsed in Java so the seed works on databases without REGEXP (e.g. H2)
+    private static final String SELECT_T_TASK_IDS =
+        "SELECT id FROM tasks WHERE id LIKE 'T%'";
+
+    private static final Object refillLock = new Object();
+    private static final AtomicLong nextId = new AtomicLong();
+    private static volatile long blockEnd = 0; // exclusive upper bound of the reserved block
+
     /**
      * Generate next simple task ID (T1, T2, T3, etc.)
      */
     public static String generateNextTaskId() {
+        while (true) {
+            // Read the bound before taking an id; a refill publishes nextId first
+            long end = blockEnd;
+            long id = nextId.getAndIncrement();
+            if (id < end) {
+                return "T" + id;
+            }
+
+            synchronized (refillLock) {
+                // Second attempt covers losing the race to create the sequence row
+                if (nextId.get() >= blockEnd && !reserveBlock() && !reserveBlock()) {
+                    // If reservation fails, fall back to timestamp-based ID
+                    System.err.println("Warning: Could not generate sequential ID, using timestamp-based ID");
+                    return "T" + System.currentTimeMillis();
+                }
+            }
+        }
+    }
+
+    /**
+     * Reserve the next block of ids in one transaction
+     * @return true if a new block is available in memory
+     */
+    private static boolean reserveBlock() {
+        int blockSize = DatabaseConfig.getIdBlockSize();
         Connection conn = null;
         PreparedStatement pstmt = null;
         ResultSet rs = null;
-        
+
         try {
             conn = DatabaseConfig.getConnection();
-            
-            // Get the maximum numeric ID from existing tasks
-            String query = "SELECT MAX(CAST(SUBSTRING(id, 2) AS UNSIGNED)) as max_id FROM tasks WHERE id REGEXP '^T[0-9]+$'";
-            pstmt = conn.prepareStatement(query);
+            conn.setAutoCommit(false);
+
+            pstmt = conn.prepareStatement(SELECT_SEQUENCE_FOR_UPDATE);
+            pstmt.setString(1, TASK_SEQUENCE);
             rs = pstmt.executeQuery();
-            
-            int nextId = 1;
+
+            long start;
             if (rs.next()) {
-                int maxId = rs.getInt("max_id");
-                if (!rs.wasNull() && maxId > 0) {
-                    nextId = maxId + 1;
-                }
+                start = rs.getLong("next_value");
+                DatabaseUtil.closeResultSet(rs);
+                DatabaseUtil.closeStatement(pstmt);
+
+                pstmt = conn.prepareStatement(UPDATE_SEQUENCE);
+                pstmt.setLong(1, start + blockSize);
+                pstmt.setString(2, TASK_SEQUENCE);
+                pstmt.executeUpdate();
+            } else {
+                DatabaseUtil.closeResultSet(rs);
+                DatabaseUtil.closeStatement(pstmt);
+
+                start = findMaxTaskId(conn) + 1;
+                pstmt = conn.prepareStatement(INSERT_SEQUENCE);
+                pstmt.setString(1, TASK_SEQUENCE);
+                pstmt.setLong(2, start + blockSize);
+                pstmt.executeUpdate();
             }
-            
-            return "T" + nextId;
-            
+
+            conn.commit();
+
+            // Publish the counter before the bound (see generateNextTaskId)
+            nextId.set(start);
+            blockEnd = start + blockSize;
+            return true;
+
         } catch (SQLException e) {
-            // If query fails, fall back to timestamp-based ID
-            System.err.println("Warning: Could not generate sequential ID, using timestamp-based ID");
-            return "T" + System.currentTimeMillis();
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    System.err.println("Error rolling back transaction: " + ex.getMessage());
+                }
+            }
+            System.err.println("Error reserving task ids: " + e.getMessage());
+            return false;
         } finally {
             DatabaseUtil.closeAll(conn, pstmt, rs);
         }
     }
-}
 
+    /**
+     * Move the sequence past T<n> ids that were inserted as given (e.g. by an import),
+     * so generated ids never collide with them. Runs on the caller's connection, so
+     * the sequence moves in the same transaction as the rows.
+     */
+    public static void advancePast(Connection conn, Collection<String> ids) throws SQLException {
+        long maxId = 0;
+        for (String id : ids) {
+            maxId = Math.max(maxId, taskNumber(id));
+        }
+        if (maxId == 0) {
+            return;
+        }
+        PreparedStatement pstmt = null;
+        try {
+            // No sequence row yet: the first reservation seeds from the tasks table
+            pstmt = conn.prepareStatement(ADVANCE_SEQUENCE);
+            pstmt.setLong(1, maxId + 1);
+            pstmt.setString(2, TASK_SEQUENCE);
+            pstmt.setLong(3, maxId + 1);
+            pstmt.executeUpdate();
+        } finally {
+            DatabaseUtil.closeStatement(pstmt);
+        }
+        // The block this process already holds must skip them as well
+        nextId.accumulateAndGet(maxId + 1, Math::max);
+    }
+
+    /**
+     * Highest numeric part of existing T<n> ids, or 0 if there are none
+     */
+    private static long findMaxTaskId(Connection conn) throws SQLException {
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try {
+            pstmt = conn.prepareStatement(SELECT_T_TASK_IDS);
+            rs = pstmt.executeQuery();
+            long maxId = 0;
+            while (rs.next()) {
+                maxId = Math.max(maxId, taskNumber(rs.getString("id")));
+            }
+            return maxId;
+        } finally {
+            DatabaseUtil.closeResultSet(rs);
+            DatabaseUtil.closeStatement(pstmt);
+        }
+    }
+
+    /**
+     * Numeric part of a T<n> id, or 0 for any other id
+     */
+    private static long taskNumber(String id) {
+        if (id != null && id.startsWith("T") && id.length() > 1 && id.length() < 19
+                && id.substring(1).chars().allMatch(Character::isDigit)) {
+            return Long.parseLong(id.substring(1));
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,46 @@
+package com.finalproject.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits text into lower-case search terms (runs of letters and digits)
+ */
+public class SearchTokenizer {
+
+    /**
+     * Tokenize text into lower-case terms
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * True if any term in the text starts with any of the query terms
+     */
+    public static boolean matchesAny(String text, List<String> queryTerms) {
+        for (String term : tokenize(text)) {
+            for (String query : queryTerms) {
+                if (term.startsWith(query)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
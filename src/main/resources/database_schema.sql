@@ -5,7 +5,12 @@ CREATE DATABASE IF NOT EXISTS taskmate_db;
 USE taskmate_db;
 
 -- Drop tables if they exist (for clean setup)
+DROP TABLE IF EXISTS daily_rollup;
+DROP TABLE IF EXISTS time_entries;
+DROP TABLE IF EXISTS task_tombstones;
+DROP TABLE IF EXISTS id_sequences;
 DROP TABLE IF EXISTS task_tags;
+DROP TABLE IF EXISTS tags;
 DROP TABLE IF EXISTS tasks;
 
 -- Create tasks table
@@ -13,26 +18,75 @@ CREATE TABLE tasks (
     id VARCHAR(100) PRIMARY KEY,
     title VARCHAR(200) NOT NULL,
     description TEXT,
-    status VARCHAR(20) NOT NULL DEFAULT 'To-Do',
-    priority VARCHAR(10) NOT NULL DEFAULT 'medium',
+    status ENUM('To-Do', 'In-Progress', 'Done') NOT NULL DEFAULT 'To-Do',
+    priority ENUM('low', 'medium', 'high') NOT NULL DEFAULT 'medium',
     time_spent FLOAT DEFAULT 0.0,
-    start_time VARCHAR(50),
-    end_time VARCHAR(50),
+    start_time TIMESTAMP(3) NULL DEFAULT NULL,
+    end_time TIMESTAMP(3) NULL DEFAULT NULL,
     assigned_to VARCHAR(100),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     INDEX idx_status (status),
     INDEX idx_priority (priority),
-    INDEX idx_assigned_to (assigned_to)
+    INDEX idx_assigned_to (assigned_to),
+    INDEX idx_created_at (created_at, id),
+    INDEX idx_updated_at (updated_at),
+    INDEX idx_start_time (start_time),
+    FULLTEXT INDEX ft_title_description (title, description)
+);
+
+-- Create tags dictionary (each tag name stored once)
+CREATE TABLE tags (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(50) NOT NULL,
+    CONSTRAINT uk_tags_name UNIQUE (name)
 );
 
 -- Create task_tags junction table for many-to-many relationship
 CREATE TABLE task_tags (
     task_id VARCHAR(100),
-    tag VARCHAR(50),
-    PRIMARY KEY (task_id, tag),
+    tag_id INT NOT NULL,
+    PRIMARY KEY (task_id, tag_id),
     FOREIGN KEY (task_id) REFERENCES tasks(id) ON DELETE CASCADE,
-    INDEX idx_tag (tag)
+    FOREIGN KEY (tag_id) REFERENCES tags(id),
+    INDEX idx_tag_id (tag_id)
+);
+
+-- Create id_sequences table for hi/lo task id allocation
+CREATE TABLE id_sequences (
+    name VARCHAR(50) PRIMARY KEY,
+    next_value BIGINT NOT NULL
+);
+
+-- Create task_tombstones table recording deleted task ids for change queries
+CREATE TABLE task_tombstones (
+    task_id VARCHAR(100) PRIMARY KEY,
+    deleted_at TIMESTAMP NOT NULL,
+    INDEX idx_deleted_at (deleted_at)
+);
+
+-- Create time_entries table logging each timer interval (split at midnight) for reports
+CREATE TABLE time_entries (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    task_id VARCHAR(100) NOT NULL,
+    started_at TIMESTAMP(3) NOT NULL,
+    ended_at TIMESTAMP(3) NOT NULL,
+    hours FLOAT NOT NULL,
+    FOREIGN KEY (task_id) REFERENCES tasks(id) ON DELETE CASCADE,
+    INDEX idx_time_entries_started_at (started_at),
+    INDEX idx_time_entries_task_id (task_id)
+);
+
+-- Create daily_rollup table with per-day totals by status and assignee for reports
+CREATE TABLE daily_rollup (
+    rollup_day DATE NOT NULL,
+    status ENUM('To-Do', 'In-Progress', 'Done') NOT NULL DEFAULT 'To-Do',
+    assignee VARCHAR(100) NOT NULL DEFAULT '',
+    task_count INT NOT NULL DEFAULT 0,
+    time_spent DOUBLE NOT NULL DEFAULT 0,
+    time_logged DOUBLE NOT NULL DEFAULT 0,
+    completions INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (rollup_day, status, assignee)
 );
 
 -- Insert sample data (optional)
@@ -41,13 +95,26 @@ INSERT INTO tasks (id, title, description, status, priority, time_spent, assigne
 ('TASK-002', 'Fix dashboard alignment', 'Fix CSS alignment issues', 'To-Do', 'high', 0.0, NULL),
 ('TASK-003', 'Write unit tests', 'Add test coverage for core modules', 'Done', 'medium', 5.0, 'Bhavik');
 
-INSERT INTO task_tags (task_id, tag) VALUES
-('TASK-001', 'backend'),
-('TASK-001', 'authentication'),
-('TASK-002', 'frontend'),
-('TASK-002', 'css'),
-('TASK-003', 'testing');
+INSERT INTO tags (id, name) VALUES
+(1, 'backend'),
+(2, 'authentication'),
+(3, 'frontend'),
+(4, 'css'),
+(5, 'testing');
+
+INSERT INTO task_tags (task_id, tag_id) VALUES
+('TASK-001', 1),
+('TASK-001', 2),
+('TASK-002', 3),
+('TASK-002', 4),
+('TASK-003', 5);
+
+-- Seed the rollup with the sample tasks
+INSERT INTO daily_rollup (rollup_day, status, assignee, task_count, time_spent, time_logged, completions)
+SELECT CAST(updated_at AS DATE), status, COALESCE(assigned_to, ''), COUNT(*), SUM(time_spent), 0, 0
+FROM tasks GROUP BY CAST(updated_at AS DATE), status, COALESCE(assigned_to, '');
 
 -- Verify the tables were created
 SELECT * FROM tasks;
+SELECT * FROM tags;
 SELECT * FROM task_tags;
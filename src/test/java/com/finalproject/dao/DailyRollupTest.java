@@ -0,0 +1,98 @@
+package com.finalproject.dao;
+
+import com.finalproject.model.Status;
+import com.finalproject.model.Task;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Rollup bookkeeping against a private in-memory H2 database
+ */
+public class DailyRollupTest {
+    private static final LocalDate DAY = LocalDate.of(2026, 10, 16);
+
+    private Connection conn;
+
+    @Before
+    public void setUp() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:h2:mem:rollup_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE", "sa", "");
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(
+                "CREATE TABLE daily_rollup (" +
+                "rollup_day DATE NOT NULL, " +
+                "status ENUM('To-Do', 'In-Progress', 'Done') NOT NULL DEFAULT 'To-Do', " +
+                "assignee VARCHAR(100) NOT NULL DEFAULT '', " +
+                "task_count INT NOT NULL DEFAULT 0, " +
+                "time_spent DOUBLE NOT NULL DEFAULT 0, " +
+                "time_logged DOUBLE NOT NULL DEFAULT 0, " +
+                "completions INT NOT NULL DEFAULT 0, " +
+                "PRIMARY KEY (rollup_day, status, assignee))");
+        }
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    public void moveToDoneCountsOneCompletion() throws SQLException {
+        Task task = task("alice");
+        DailyRollup.State created = DailyRollup.stateOf(task);
+        DailyRollup.recordChange(conn, DAY, null, created);
+
+        task.setStatus(Status.DONE);
+        DailyRollup.recordChange(conn, DAY, created, DailyRollup.stateOf(task));
+
+        assertEquals(1, completions());
+    }
+
+    @Test
+    public void reassigningDoneTaskIsNotACompletion() throws SQLException {
+        Task task = task("alice");
+        task.setStatus(Status.DONE);
+        DailyRollup.State done = DailyRollup.stateOf(task);
+        DailyRollup.recordChange(conn, DAY, null, done);
+
+        task.setAssignedTo("bob");
+        DailyRollup.State reassigned = DailyRollup.stateOf(task);
+        DailyRollup.recordChange(conn, DAY, done, reassigned);
+
+        task.setTimeSpent(2.0f);
+        DailyRollup.recordChange(conn, DAY, reassigned, DailyRollup.stateOf(task));
+
+        assertEquals(0, completions());
+        assertEquals(1, sum("task_count"));
+    }
+
+    private static Task task(String assignee) {
+        // No-arg constructor: the titled one reserves an id from the configured database
+        Task task = new Task();
+        task.setId("TASK-1");
+        task.setTitle("title");
+        task.setAssignedTo(assignee);
+        return task;
+    }
+
+    private long completions() throws SQLException {
+        return sum("completions");
+    }
+
+    private long sum(String column) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(SUM(" + column + "), 0) FROM daily_rollup")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}